@@ -163,7 +163,7 @@ class EstudiantesService extends ApiService {
     }
 
     async search(query) {
-        return this.get(`/estudiantes/search?q=${encodeURIComponent(query)}`);
+        return this.get(`/search?q=${encodeURIComponent(query)}&tipos=estudiantes`);
     }
 
     async getByCarrera(carrera) {
@@ -197,7 +197,7 @@ class ProfesoresService extends ApiService {
     }
 
     async search(query) {
-        return this.get(`/profesores/search?q=${encodeURIComponent(query)}`);
+        return this.get(`/search?q=${encodeURIComponent(query)}&tipos=profesores`);
     }
 
     async getByEspecialidad(especialidad) {
@@ -277,7 +277,7 @@ class ProyectosService extends ApiService {
     }
 
     async search(query) {
-        return this.get(`/proyectos/search?q=${encodeURIComponent(query)}`);
+        return this.get(`/search?q=${encodeURIComponent(query)}&tipos=proyectos`);
     }
 
     async getByEstudiante(estudianteId) {
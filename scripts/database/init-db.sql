@@ -35,6 +35,35 @@ CREATE TABLE IF NOT EXISTS estudiante_proyecto (
     -- Nota: proyecto_id hace referencia a MongoDB, no creamos FK física
 );
 
+-- Índices inversos: estudiantes de un curso / de un proyecto (la clave primaria empieza por estudiante_id)
+CREATE INDEX IF NOT EXISTS idx_estudiante_curso_curso ON estudiante_curso (curso_id, estudiante_id);
+CREATE INDEX IF NOT EXISTS idx_estudiante_proyecto_proyecto ON estudiante_proyecto (proyecto_id, estudiante_id);
+
+-- Outbox de efectos entre almacenes: eventos pendientes de aplicar tras eliminar cursos o proyectos
+CREATE TABLE IF NOT EXISTS outbox_evento (
+    id BIGSERIAL PRIMARY KEY,
+    tipo VARCHAR(40) NOT NULL,
+    clave VARCHAR(100) NOT NULL,
+    creado_en TIMESTAMP NOT NULL DEFAULT now(),
+    intentos INTEGER NOT NULL DEFAULT 0,
+    proximo_intento TIMESTAMP NOT NULL DEFAULT now(),
+    ultimo_error VARCHAR(500)
+);
+CREATE INDEX IF NOT EXISTS idx_outbox_evento_proximo ON outbox_evento (proximo_intento, id);
+
+-- Directorio de usuarios de la aplicación (la aplicación crea los usuarios por defecto al arrancar)
+CREATE TABLE IF NOT EXISTS usuario (
+    username VARCHAR(50) PRIMARY KEY,
+    password VARCHAR(100) NOT NULL,
+    email VARCHAR(150),
+    first_name VARCHAR(100),
+    last_name VARCHAR(100),
+    role VARCHAR(20) NOT NULL,
+    active BOOLEAN NOT NULL DEFAULT TRUE,
+    created_at TIMESTAMP NOT NULL DEFAULT now(),
+    last_login TIMESTAMP
+);
+
 -- Insertar datos de prueba (estudiantes) si no existen
 INSERT INTO estudiante (nombre, apellido, correo, fecha_nacimiento) 
 SELECT nombre, apellido, correo, fecha_nacimiento::DATE FROM (VALUES 
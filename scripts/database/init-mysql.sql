@@ -16,6 +16,14 @@ CREATE TABLE IF NOT EXISTS cursos (
     creditos INT NOT NULL DEFAULT 3
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
+-- Outbox de eventos sobre cursos (la aplicación también la crea al arrancar)
+CREATE TABLE IF NOT EXISTS outbox_evento (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    tipo VARCHAR(40) NOT NULL,
+    clave VARCHAR(100) NOT NULL,
+    creado_en DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
 -- Insertar datos de prueba (cursos) con caracteres UTF-8 correctos
 INSERT IGNORE INTO cursos (nombre, codigo, creditos) VALUES 
 ('Programación I', 'PROG101', 4),
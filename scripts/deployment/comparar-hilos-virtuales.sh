@@ -0,0 +1,116 @@
+#!/bin/bash
+
+# Prueba de carga: hilos de plataforma vs hilos virtuales
+# Arranca el mismo jar (Java 21) en los dos modos contra las bases de datos locales, carga cada endpoint
+# con la misma concurrencia y compara throughput y p99. Requiere Java 21, hey (https://github.com/rakyll/hey)
+# y las bases de datos levantadas (start-services.sh). Resultados en target/carga/.
+#
+# Variables: CONCURRENCIA (400), DURACION (60s), CALENTAMIENTO (15s), PUERTO (8080),
+#            ENDPOINTS (lista separada por espacios de rutas a cargar)
+
+GREEN='\033[0;32m'
+BLUE='\033[0;34m'
+RED='\033[0;31m'
+NC='\033[0m' # No Color
+
+log_info() {
+    echo -e "${BLUE}[INFO]${NC} $1"
+}
+
+log_success() {
+    echo -e "${GREEN}[✅ SUCCESS]${NC} $1"
+}
+
+log_error() {
+    echo -e "${RED}[❌ ERROR]${NC} $1"
+}
+
+CONCURRENCIA=${CONCURRENCIA:-400}
+DURACION=${DURACION:-60s}
+CALENTAMIENTO=${CALENTAMIENTO:-15s}
+PUERTO=${PUERTO:-8080}
+ENDPOINTS=${ENDPOINTS:-"/api/estudiantes/1 /api/cursos /api/profesores/pagina /api/reportes/estudiante/1 /api/reportes/dashboard"}
+
+RAIZ="$(cd "$(dirname "$0")/../.." && pwd)"
+SALIDA="$RAIZ/target/carga"
+RESULTADOS="$SALIDA/resultados.md"
+
+for comando in java hey curl; do
+    if ! command -v "$comando" > /dev/null; then
+        log_error "No se encontró '$comando' en el PATH"
+        exit 1
+    fi
+done
+
+if ! java -version 2>&1 | grep -qE 'version "(2[1-9]|[3-9][0-9])'; then
+    log_error "Se requiere Java 21 o superior para el modo de hilos virtuales"
+    exit 1
+fi
+
+log_info "Compilando con el perfil java21..."
+(cd "$RAIZ" && ./mvnw -q -Pjava21 -DskipTests package) || { log_error "Falló la compilación"; exit 1; }
+JAR=$(ls "$RAIZ"/target/*.jar | grep -v plain | head -1)
+mkdir -p "$SALIDA"
+
+esperar_arranque() {
+    for _ in $(seq 1 60); do
+        if curl -sf "http://localhost:$PUERTO/actuator/health" > /dev/null; then
+            return 0
+        fi
+        sleep 2
+    done
+    return 1
+}
+
+# Ejecuta un modo completo: $1 = nombre del modo, $2 = perfiles de Spring
+ejecutar_modo() {
+    local modo=$1
+    local perfiles=$2
+    log_info "Arrancando en modo $modo..."
+    java -Djdk.tracePinnedThreads=short -jar "$JAR" --server.port="$PUERTO" \
+        --spring.profiles.active="$perfiles" > "$SALIDA/app-$modo.log" 2>&1 &
+    local pid=$!
+
+    if ! esperar_arranque; then
+        log_error "La aplicación no arrancó en modo $modo (ver $SALIDA/app-$modo.log)"
+        kill "$pid" 2> /dev/null
+        exit 1
+    fi
+
+    for endpoint in $ENDPOINTS; do
+        local url="http://localhost:$PUERTO$endpoint"
+        local archivo="$SALIDA/$modo-$(echo "$endpoint" | tr '/' '_').txt"
+        hey -z "$CALENTAMIENTO" -c "$CONCURRENCIA" "$url" > /dev/null
+        hey -z "$DURACION" -c "$CONCURRENCIA" "$url" > "$archivo"
+
+        local rps p99 errores
+        rps=$(awk '/Requests\/sec:/ {printf "%.0f", $2}' "$archivo")
+        p99=$(awk '/ 99% in / {printf "%.1f", $3 * 1000}' "$archivo")
+        errores=$(awk '/^[ \t]*\[[^2][0-9][0-9]\]/ {s += $2} END {print s + 0}' "$archivo")
+        echo "| $modo | $endpoint | $rps | $p99 | $errores |" >> "$RESULTADOS"
+        log_info "$modo $endpoint: $rps req/s, p99 $p99 ms, $errores respuestas no 2xx"
+    done
+
+    # Pinning detectado durante la carga (jdk.tracePinnedThreads imprime la pila de cada caso)
+    local pinning
+    pinning=$(grep -c "onPinned\|<== monitors" "$SALIDA/app-$modo.log")
+    echo "| $modo | pinning registrado | - | - | $pinning |" >> "$RESULTADOS"
+
+    kill "$pid"
+    wait "$pid" 2> /dev/null
+}
+
+{
+    echo "# Plataforma vs virtuales ($(date '+%Y-%m-%d %H:%M'))"
+    echo
+    echo "Concurrencia $CONCURRENCIA, duración $DURACION por endpoint, $(java -version 2>&1 | head -1)"
+    echo
+    echo "| Modo | Endpoint | Req/s | p99 (ms) | No 2xx |"
+    echo "|------|----------|-------|----------|--------|"
+} > "$RESULTADOS"
+
+ejecutar_modo plataforma default
+ejecutar_modo virtuales virtual
+
+log_success "Comparación guardada en $RESULTADOS"
+cat "$RESULTADOS"
@@ -0,0 +1,95 @@
+package pe.edu.utp.gestionacademicautp.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import pe.edu.utp.gestionacademicautp.model.User;
+import pe.edu.utp.gestionacademicautp.repository.redis.SesionRedisRepository;
+import pe.edu.utp.gestionacademicautp.service.AuthService;
+import pe.edu.utp.gestionacademicautp.service.CacheSesiones;
+import pe.edu.utp.gestionacademicautp.service.DirectorioUsuariosMemoria;
+import pe.edu.utp.gestionacademicautp.service.LimitadorIntentosLogin;
+import pe.edu.utp.gestionacademicautp.service.VerificadorPasswords;
+
+import java.util.concurrent.TimeUnit;
+
+// AuthService.login (límite de intentos, BCrypt en su pool y alta de la sesión) y validateSession
+// con la sesión en la cache local del nodo o leída del Redis en memoria
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthServiceBenchmark {
+
+    private static final String IP = "10.0.0.1";
+
+    // Mismo costo que app.seguridad.bcrypt-costo; domina el tiempo del login
+    @Param({"10"})
+    private int bcryptCosto;
+
+    private EntornoEnMemoria entorno;
+    private AuthService authService;
+    private CacheSesiones cacheSesiones;
+    private VerificadorPasswords verificadorPasswords;
+    private String sessionId;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        entorno = new EntornoEnMemoria(0);
+        PasswordEncoder passwordEncoder = new BCryptPasswordEncoder(bcryptCosto);
+        verificadorPasswords = new VerificadorPasswords(passwordEncoder, bcryptCosto, 0, 100, 5000, 16, 50);
+        // El contenedor no se inicia: en un solo nodo no llegan invalidaciones de otros
+        cacheSesiones = new CacheSesiones(entorno.stringRedisTemplate, new RedisMessageListenerContainer(), 30, 10000);
+
+        authService = new AuthService();
+        ReflectionTestUtils.setField(authService, "sesionRepository",
+                new SesionRedisRepository(entorno.stringRedisTemplate));
+        ReflectionTestUtils.setField(authService, "cacheSesiones", cacheSesiones);
+        ReflectionTestUtils.setField(authService, "directorioUsuarios", new DirectorioUsuariosMemoria(passwordEncoder));
+        ReflectionTestUtils.setField(authService, "verificadorPasswords", verificadorPasswords);
+        ReflectionTestUtils.setField(authService, "limitadorIntentos",
+                new LimitadorIntentosLogin(entorno.stringRedisTemplate, 5, 20, 900));
+
+        sessionId = authService.login("admin", "admin123", IP).join();
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        ReflectionTestUtils.invokeMethod(verificadorPasswords, "cerrar");
+        entorno.close();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public String login() {
+        return authService.login("admin", "admin123", IP).join();
+    }
+
+    @Benchmark
+    public User validateSessionEnCacheLocal() {
+        return authService.validateSession(sessionId);
+    }
+
+    // Incluye descartar la entrada local (y el aviso por pub/sub) para obligar la lectura en Redis
+    @Benchmark
+    public User validateSessionDesdeRedis() {
+        cacheSesiones.invalidar(sessionId);
+        return authService.validateSession(sessionId);
+    }
+}
@@ -0,0 +1,114 @@
+package pe.edu.utp.gestionacademicautp.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import pe.edu.utp.gestionacademicautp.dto.CursoDTO;
+import pe.edu.utp.gestionacademicautp.dto.EstudianteDTO;
+import pe.edu.utp.gestionacademicautp.dto.ProyectoInvestigacionDTO;
+import pe.edu.utp.gestionacademicautp.model.mongo.ProyectoInvestigacion;
+import pe.edu.utp.gestionacademicautp.model.mysql.Curso;
+import pe.edu.utp.gestionacademicautp.model.postgres.Estudiante;
+import pe.edu.utp.gestionacademicautp.service.CursoService;
+import pe.edu.utp.gestionacademicautp.service.EstudianteService;
+import pe.edu.utp.gestionacademicautp.service.ProyectoInvestigacionService;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+// convertToDto de los servicios (entidad -> DTO), por entidad convertida. Son métodos privados: se invocan
+// con MethodHandles estáticos, que el JIT trata como llamadas directas
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConversionDtoBenchmark {
+
+    private static final int LOTE = 1000;
+
+    private static final MethodHandle ESTUDIANTE_A_DTO =
+            convertToDto(EstudianteService.class, EstudianteDTO.class, Estudiante.class);
+    private static final MethodHandle CURSO_A_DTO =
+            convertToDto(CursoService.class, CursoDTO.class, Curso.class);
+    private static final MethodHandle PROYECTO_A_DTO =
+            convertToDto(ProyectoInvestigacionService.class, ProyectoInvestigacionDTO.class,
+                    ProyectoInvestigacion.class);
+
+    // convertToDto no usa las dependencias de los servicios
+    private final EstudianteService estudianteService = new EstudianteService(null, null, null, null, null, null, null);
+    private final CursoService cursoService = new CursoService(null, null, null, null, null, null, null);
+    private final ProyectoInvestigacionService proyectoService =
+            new ProyectoInvestigacionService(null, null, null, null, null, null);
+
+    private final Estudiante[] estudiantes = new Estudiante[LOTE];
+    private final Curso[] cursos = new Curso[LOTE];
+    private final ProyectoInvestigacion[] proyectos = new ProyectoInvestigacion[LOTE];
+
+    @Setup
+    public void preparar() {
+        for (int i = 0; i < LOTE; i++) {
+            estudiantes[i] = new Estudiante(i, "Nombre" + i, "Apellido" + i, "estudiante" + i + "@utp.edu.pe",
+                    LocalDate.of(2000, 1, 1).plusDays(i));
+            Curso curso = new Curso();
+            curso.setId(i);
+            curso.setNombre("Curso " + i);
+            curso.setCodigo("CUR" + i);
+            curso.setCreditos(3);
+            cursos[i] = curso;
+            ProyectoInvestigacion proyecto = new ProyectoInvestigacion();
+            proyecto.setId(String.format("%024x", i));
+            proyecto.setTitulo("Proyecto " + i);
+            proyecto.setResumen("Resumen del proyecto " + i);
+            proyecto.setFechaInicio("2024-03-01");
+            proyecto.setFechaFin("2025-12-15");
+            proyectos[i] = proyecto;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOTE)
+    public void estudiantes(Blackhole blackhole) throws Throwable {
+        for (Estudiante estudiante : estudiantes) {
+            blackhole.consume((EstudianteDTO) ESTUDIANTE_A_DTO.invokeExact(estudianteService, estudiante));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOTE)
+    public void cursos(Blackhole blackhole) throws Throwable {
+        for (Curso curso : cursos) {
+            blackhole.consume((CursoDTO) CURSO_A_DTO.invokeExact(cursoService, curso));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOTE)
+    public void proyectos(Blackhole blackhole) throws Throwable {
+        for (ProyectoInvestigacion proyecto : proyectos) {
+            blackhole.consume((ProyectoInvestigacionDTO) PROYECTO_A_DTO.invokeExact(proyectoService, proyecto));
+        }
+    }
+
+    private static MethodHandle convertToDto(Class<?> servicio, Class<?> dto, Class<?> entidad) {
+        try {
+            return MethodHandles.privateLookupIn(servicio, MethodHandles.lookup())
+                    .findVirtual(servicio, "convertToDto", MethodType.methodType(dto, entidad));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("No se encontró " + servicio.getSimpleName() + ".convertToDto", e);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package pe.edu.utp.gestionacademicautp.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.test.util.ReflectionTestUtils;
+import pe.edu.utp.gestionacademicautp.model.mongo.ProyectoInvestigacion;
+import pe.edu.utp.gestionacademicautp.repository.mongo.ProyectoInvestigacionRepository;
+import pe.edu.utp.gestionacademicautp.repository.postgres.EstudianteRepository;
+import pe.edu.utp.gestionacademicautp.repository.redis.RedisEnMemoria;
+import pe.edu.utp.gestionacademicautp.service.CatalogoCursos;
+import pe.edu.utp.gestionacademicautp.service.ReporteIntegralEstudianteService;
+
+import java.lang.reflect.Proxy;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+
+// Sustitutos en memoria de los almacenes para los benchmarks: H2 en modo PostgreSQL y en modo MySQL con el
+// mismo esquema que scripts/database, proyectos en un mapa (en lugar de MongoDB) y Redis en RedisEnMemoria.
+// Los datos son deterministas para que dos corridas en la misma máquina sean comparables.
+final class EntornoEnMemoria implements AutoCloseable {
+
+    static final int CURSOS = 200;
+    static final int PROYECTOS = 500;
+    static final int CURSOS_POR_ESTUDIANTE = 5;
+    static final int PROYECTOS_POR_ESTUDIANTE = 2;
+
+    private final HikariDataSource postgres;
+    private final HikariDataSource mysql;
+    private final LocalContainerEntityManagerFactoryBean entityManagerFactory;
+    private final Map<String, ProyectoInvestigacion> proyectos = new LinkedHashMap<>();
+
+    final JdbcTemplate postgresJdbcTemplate;
+    final JdbcTemplate mysqlJdbcTemplate;
+    final EstudianteRepository estudianteRepository;
+    final ProyectoInvestigacionRepository proyectoRepository;
+    final RedisEnMemoria redis = new RedisEnMemoria();
+    final StringRedisTemplate stringRedisTemplate = new StringRedisTemplate(redis.connectionFactory());
+    final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    EntornoEnMemoria(int estudiantes) {
+        String nombre = "bench" + System.nanoTime();
+        postgres = dataSource("jdbc:h2:mem:" + nombre + "pg;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        mysql = dataSource("jdbc:h2:mem:" + nombre + "my;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        postgresJdbcTemplate = new JdbcTemplate(postgres);
+        mysqlJdbcTemplate = new JdbcTemplate(mysql);
+
+        crearEsquema();
+        cargarDatos(estudiantes);
+
+        entityManagerFactory = new LocalContainerEntityManagerFactoryBean();
+        entityManagerFactory.setDataSource(postgres);
+        entityManagerFactory.setPackagesToScan("pe.edu.utp.gestionacademicautp.model.postgres");
+        entityManagerFactory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        Properties propiedades = new Properties();
+        propiedades.setProperty("hibernate.hbm2ddl.auto", "none");
+        entityManagerFactory.setJpaProperties(propiedades);
+        entityManagerFactory.afterPropertiesSet();
+        EntityManagerFactory emf = Objects.requireNonNull(entityManagerFactory.getObject());
+        estudianteRepository = new JpaRepositoryFactory(SharedEntityManagerCreator.createSharedEntityManager(emf))
+                .getRepository(EstudianteRepository.class);
+
+        proyectoRepository = proyectosEnMemoria();
+    }
+
+    // Servicio de reportes con la configuración de application.properties (sin contexto de Spring)
+    ReporteIntegralEstudianteService reporteService() {
+        ReporteIntegralEstudianteService servicio = new ReporteIntegralEstudianteService(stringRedisTemplate,
+                objectMapper, postgresJdbcTemplate, new CatalogoCursos(mysqlJdbcTemplate), proyectoRepository);
+        ReflectionTestUtils.setField(servicio, "ttlSegundos", 600L);
+        ReflectionTestUtils.setField(servicio, "hilos", 16);
+        ReflectionTestUtils.setField(servicio, "capacidadCola", 200);
+        ReflectionTestUtils.setField(servicio, "timeoutEstudianteMs", 2000L);
+        ReflectionTestUtils.setField(servicio, "timeoutCursosMs", 1500L);
+        ReflectionTestUtils.setField(servicio, "timeoutProyectosMs", 1500L);
+        ReflectionTestUtils.invokeMethod(servicio, "inicializar");
+        return servicio;
+    }
+
+    static void detener(ReporteIntegralEstudianteService servicio) {
+        ReflectionTestUtils.invokeMethod(servicio, "detener");
+    }
+
+    private void crearEsquema() {
+        postgresJdbcTemplate.execute("""
+                CREATE TABLE estudiante (
+                    id SERIAL PRIMARY KEY,
+                    nombre VARCHAR(100) NOT NULL,
+                    apellido VARCHAR(100) NOT NULL,
+                    correo VARCHAR(100) NOT NULL,
+                    fecha_nacimiento DATE
+                )""");
+        postgresJdbcTemplate.execute("""
+                CREATE TABLE estudiante_curso (
+                    estudiante_id INTEGER NOT NULL,
+                    curso_id INTEGER NOT NULL,
+                    PRIMARY KEY (estudiante_id, curso_id)
+                )""");
+        postgresJdbcTemplate.execute("""
+                CREATE TABLE estudiante_proyecto (
+                    estudiante_id INTEGER NOT NULL,
+                    proyecto_id VARCHAR(50) NOT NULL,
+                    PRIMARY KEY (estudiante_id, proyecto_id)
+                )""");
+        mysqlJdbcTemplate.execute("""
+                CREATE TABLE cursos (
+                    id INT AUTO_INCREMENT PRIMARY KEY,
+                    nombre VARCHAR(100) NOT NULL,
+                    codigo VARCHAR(20) NOT NULL,
+                    creditos INT NOT NULL
+                )""");
+    }
+
+    private void cargarDatos(int estudiantes) {
+        List<Object[]> cursos = new ArrayList<>();
+        for (int i = 1; i <= CURSOS; i++) {
+            cursos.add(new Object[]{"Curso " + i, "CUR" + i, 2 + i % 4});
+        }
+        mysqlJdbcTemplate.batchUpdate("INSERT INTO cursos (nombre, codigo, creditos) VALUES (?, ?, ?)", cursos);
+
+        for (int i = 1; i <= PROYECTOS; i++) {
+            ProyectoInvestigacion proyecto = new ProyectoInvestigacion();
+            proyecto.setId(idProyecto(i));
+            proyecto.setTitulo("Proyecto de investigación " + i);
+            proyecto.setResumen("Resumen del proyecto " + i + " sobre gestión académica y análisis de datos");
+            proyecto.setFechaInicio("2024-03-01");
+            proyecto.setFechaFin("2025-12-15");
+            proyectos.put(proyecto.getId(), proyecto);
+        }
+
+        List<Object[]> filas = new ArrayList<>();
+        List<Object[]> matriculas = new ArrayList<>();
+        List<Object[]> participaciones = new ArrayList<>();
+        for (int id = 1; id <= estudiantes; id++) {
+            filas.add(new Object[]{"Nombre" + id, "Apellido" + id, "estudiante" + id + "@utp.edu.pe",
+                    Date.valueOf(LocalDate.of(2000, 1, 1).plusDays(id % 3650))});
+            for (int c = 0; c < CURSOS_POR_ESTUDIANTE; c++) {
+                matriculas.add(new Object[]{id, 1 + (id * 7 + c * 31) % CURSOS});
+            }
+            for (int p = 0; p < PROYECTOS_POR_ESTUDIANTE; p++) {
+                participaciones.add(new Object[]{id, idProyecto(1 + (id * 3 + p * 101) % PROYECTOS)});
+            }
+        }
+        postgresJdbcTemplate.batchUpdate(
+                "INSERT INTO estudiante (nombre, apellido, correo, fecha_nacimiento) VALUES (?, ?, ?, ?)", filas);
+        postgresJdbcTemplate.batchUpdate(
+                "INSERT INTO estudiante_curso (estudiante_id, curso_id) VALUES (?, ?)", matriculas);
+        postgresJdbcTemplate.batchUpdate(
+                "INSERT INTO estudiante_proyecto (estudiante_id, proyecto_id) VALUES (?, ?)", participaciones);
+    }
+
+    // Solo findResumenesByIds, que es lo que usa el reporte; respeta el orden de los IDs como la versión Mongo
+    @SuppressWarnings("unchecked")
+    private ProyectoInvestigacionRepository proyectosEnMemoria() {
+        return (ProyectoInvestigacionRepository) Proxy.newProxyInstance(
+                ProyectoInvestigacionRepository.class.getClassLoader(),
+                new Class<?>[]{ProyectoInvestigacionRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findResumenesByIds" -> ((Collection<String>) args[0]).stream()
+                            .map(proyectos::get)
+                            .filter(Objects::nonNull)
+                            .toList();
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "ProyectosEnMemoria";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static String idProyecto(int numero) {
+        return String.format("%024x", numero);
+    }
+
+    private static HikariDataSource dataSource(String url) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url);
+        dataSource.setMaximumPoolSize(20);
+        return dataSource;
+    }
+
+    @Override
+    public void close() {
+        entityManagerFactory.destroy();
+        postgres.close();
+        mysql.close();
+    }
+}
@@ -0,0 +1,54 @@
+package pe.edu.utp.gestionacademicautp.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import pe.edu.utp.gestionacademicautp.dto.EstudianteDTO;
+import pe.edu.utp.gestionacademicautp.service.EstudianteService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// EstudianteService.getAll: findAll por JPA más las dos consultas de relaciones (= ANY) sobre H2
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EstudianteServiceBenchmark {
+
+    @Param({"100", "5000"})
+    private int estudiantes;
+
+    private EntornoEnMemoria entorno;
+    private EstudianteService estudianteService;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        entorno = new EntornoEnMemoria(estudiantes);
+        // getAll no invalida reportes, no toca contadores ni el índice de búsqueda
+        estudianteService = new EstudianteService(entorno.estudianteRepository, null, null,
+                entorno.postgresJdbcTemplate, null, null, null);
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        entorno.close();
+    }
+
+    @Benchmark
+    public List<EstudianteDTO> getAll() {
+        return estudianteService.getAll();
+    }
+}
@@ -0,0 +1,62 @@
+package pe.edu.utp.gestionacademicautp.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import pe.edu.utp.gestionacademicautp.dto.ReporteIntegralEstudianteDTO;
+import pe.edu.utp.gestionacademicautp.service.ReporteIntegralEstudianteService;
+
+import java.util.concurrent.TimeUnit;
+
+// ReporteIntegralEstudianteService.obtenerReporte con el reporte ya en cache (lectura y deserialización)
+// y reconstruyéndolo en cada llamada (tres ramas en paralelo sobre H2 y los proyectos en memoria)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReporteIntegralEstudianteBenchmark {
+
+    private static final int ESTUDIANTES = 1000;
+    private static final int ESTUDIANTE_EN_CACHE = 42;
+
+    private EntornoEnMemoria entorno;
+    private ReporteIntegralEstudianteService reporteService;
+    private int siguiente;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        entorno = new EntornoEnMemoria(ESTUDIANTES);
+        reporteService = entorno.reporteService();
+        reporteService.obtenerReporte(ESTUDIANTE_EN_CACHE);
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        EntornoEnMemoria.detener(reporteService);
+        entorno.close();
+    }
+
+    @Benchmark
+    public ReporteIntegralEstudianteDTO desdeCache() {
+        return reporteService.obtenerReporte(ESTUDIANTE_EN_CACHE);
+    }
+
+    // Incluye la invalidación previa (un DEL en el Redis en memoria) para forzar la reconstrucción
+    @Benchmark
+    public ReporteIntegralEstudianteDTO reconstruido() {
+        int estudianteId = 1 + (siguiente++ % ESTUDIANTES);
+        reporteService.invalidarCacheReporte(estudianteId);
+        return reporteService.obtenerReporte(estudianteId);
+    }
+}
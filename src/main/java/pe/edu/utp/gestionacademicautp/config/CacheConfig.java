@@ -0,0 +1,58 @@
+package pe.edu.utp.gestionacademicautp.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.BatchStrategies;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+// Cache de lecturas por región (@Cacheable en los servicios): Caffeine local como primer nivel y Redis como segundo
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(PropiedadesCache.class)
+public class CacheConfig {
+
+    @Bean
+    public CacheDosNivelesManager cacheManager(RedisConnectionFactory connectionFactory,
+                                               StringRedisTemplate stringRedisTemplate,
+                                               RedisMessageListenerContainer listenerContainer,
+                                               PropiedadesCache propiedades) {
+        Map<String, RedisCacheConfiguration> configuraciones = new HashMap<>();
+        propiedades.getRegiones().forEach((nombre, region) -> configuraciones.put(nombre, configuracionRedis(region)));
+
+        // SCAN en vez de KEYS al vaciar una región para no bloquear Redis
+        RedisCacheManager redisCacheManager = RedisCacheManager
+                .builder(RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory, BatchStrategies.scan(500)))
+                .cacheDefaults(configuracionRedis(propiedades.getPorDefecto()))
+                .withInitialCacheConfigurations(configuraciones)
+                .build();
+        redisCacheManager.afterPropertiesSet();
+
+        CacheDosNivelesManager cacheManager =
+                new CacheDosNivelesManager(propiedades, redisCacheManager, stringRedisTemplate);
+        listenerContainer.addMessageListener(cacheManager,
+                new ChannelTopic(CacheDosNivelesManager.CANAL_INVALIDACION));
+        return cacheManager;
+    }
+
+    private static RedisCacheConfiguration configuracionRedis(PropiedadesCache.Region region) {
+        return RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl(Duration.ofSeconds(region.getTtlSegundos()))
+                .disableCachingNullValues()
+                .computePrefixWith(nombre -> "cache:" + nombre + ":")
+                .serializeValuesWith(SerializationPair.fromSerializer(new GenericJackson2JsonRedisSerializer()));
+    }
+}
@@ -0,0 +1,274 @@
+package pe.edu.utp.gestionacademicautp.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+// Región de cache con una copia local en el heap (Caffeine) delante de Redis.
+// Las lecturas prueban local -> Redis -> origen; las escrituras y desalojos van a Redis y se avisan
+// a los demás nodos para que descarten su copia local. Si Redis falla se sigue sirviendo desde local/origen.
+public class CacheDosNiveles extends AbstractValueAdaptingCache {
+
+    private final String nombre;
+    private final PropiedadesCache.Region region;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+    private final Cache redis;
+    // (region, clave) a invalidar en los otros nodos; clave null vacía la región completa
+    private final BiConsumer<String, String> avisarInvalidacion;
+
+    // Cargas en curso por clave: las demás lecturas concurrentes de la misma clave esperan a la misma carga
+    private final ConcurrentHashMap<String, Carga> cargasEnCurso = new ConcurrentHashMap<>();
+
+    private final LongAdder aciertosLocales = new LongAdder();
+    private final LongAdder aciertosRedis = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+    private final LongAdder erroresRedis = new LongAdder();
+
+    CacheDosNiveles(String nombre, PropiedadesCache.Region region, Cache redis,
+                    BiConsumer<String, String> avisarInvalidacion) {
+        super(false);
+        this.nombre = nombre;
+        this.region = region;
+        this.redis = redis;
+        this.avisarInvalidacion = avisarInvalidacion;
+        this.local = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(region.getTtlLocalSegundos()))
+                .maximumSize(region.getMaximoLocal())
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public String getName() {
+        return nombre;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        String clave = clave(key);
+        Object valor = local.getIfPresent(clave);
+        if (valor != null) {
+            aciertosLocales.increment();
+            return valor;
+        }
+        valor = leerRedis(clave);
+        if (valor != null) {
+            aciertosRedis.increment();
+            local.put(clave, valor);
+            return valor;
+        }
+        fallos.increment();
+        return null;
+    }
+
+    // @Cacheable(sync = true): en este nodo solo un hilo por clave llega a Redis o al origen
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String clave = clave(key);
+        Object valor = local.getIfPresent(clave);
+        if (valor != null) {
+            aciertosLocales.increment();
+            return (T) valor;
+        }
+        // La carga no se hace con local.get(clave, loader): Caffeine la ejecutaría dentro de un bloque
+        // synchronized del mapa y, con hilos virtuales, la consulta al origen fijaría el hilo portador
+        Carga carga = new Carga();
+        Carga cargaExistente = cargasEnCurso.putIfAbsent(clave, carga);
+        if (cargaExistente != null) {
+            return (T) esperarCarga(cargaExistente.resultado);
+        }
+        try {
+            // Otro hilo pudo terminar su carga entre la primera lectura y el registro de esta
+            valor = local.getIfPresent(clave);
+            if (valor == null) {
+                valor = cargar(key, clave, valueLoader);
+                if (valor != null) {
+                    local.put(clave, valor);
+                    // Se revisa después de escribir: un desalojo marca la carga antes de borrar, así o bien su
+                    // borrado llega después de esta escritura o bien la marca ya se ve aquí
+                    if (carga.invalidada) {
+                        descartar(clave);
+                    }
+                }
+            } else {
+                aciertosLocales.increment();
+            }
+            carga.resultado.complete(valor);
+            return (T) valor;
+        } catch (RuntimeException e) {
+            carga.resultado.completeExceptionally(e);
+            throw e;
+        } finally {
+            cargasEnCurso.remove(clave, carga);
+        }
+    }
+
+    private static Object esperarCarga(CompletableFuture<Object> carga) {
+        try {
+            return carga.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+
+    private Object cargar(Object key, String clave, Callable<?> valueLoader) {
+        Object valor = leerRedis(clave);
+        if (valor != null) {
+            aciertosRedis.increment();
+            return valor;
+        }
+        fallos.increment();
+        try {
+            valor = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        // Un null (no existe) no se guarda: la próxima lectura vuelve a consultar el origen
+        if (valor != null) {
+            escribirRedis(clave, valor);
+        }
+        return valor;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        String clave = clave(key);
+        Object valor = toStoreValue(value);
+        marcarInvalidada(clave);
+        escribirRedis(clave, valor);
+        local.put(clave, valor);
+        avisarInvalidacion.accept(nombre, clave);
+    }
+
+    @Override
+    public void evict(Object key) {
+        String clave = clave(key);
+        marcarInvalidada(clave);
+        try {
+            redis.evict(clave);
+        } catch (Exception e) {
+            erroresRedis.increment();
+            System.err.println("Error desalojando " + nombre + "::" + clave + " de Redis: " + e.getMessage());
+        }
+        local.invalidate(clave);
+        avisarInvalidacion.accept(nombre, clave);
+    }
+
+    @Override
+    public void clear() {
+        cargasEnCurso.values().forEach(carga -> carga.invalidada = true);
+        try {
+            redis.clear();
+        } catch (Exception e) {
+            erroresRedis.increment();
+            System.err.println("Error vaciando la región " + nombre + " en Redis: " + e.getMessage());
+        }
+        local.invalidateAll();
+        avisarInvalidacion.accept(nombre, null);
+    }
+
+    // Invalidación recibida de otro nodo: solo afecta a la copia local
+    void invalidarLocal(String clave) {
+        if (clave == null) {
+            cargasEnCurso.values().forEach(carga -> carga.invalidada = true);
+            local.invalidateAll();
+        } else {
+            marcarInvalidada(clave);
+            local.invalidate(clave);
+        }
+    }
+
+    // Una carga en curso leyó el valor anterior: no debe quedar guardado cuando termine
+    private void marcarInvalidada(String clave) {
+        Carga carga = cargasEnCurso.get(clave);
+        if (carga != null) {
+            carga.invalidada = true;
+        }
+    }
+
+    // Quita lo que escribió una carga invalidada mientras leía; quien la pidió igual recibe el valor
+    private void descartar(String clave) {
+        local.invalidate(clave);
+        try {
+            redis.evict(clave);
+        } catch (Exception e) {
+            erroresRedis.increment();
+            System.err.println("Error desalojando " + nombre + "::" + clave + " de Redis: " + e.getMessage());
+        }
+    }
+
+    public PropiedadesCache.Region getRegion() {
+        return region;
+    }
+
+    public long getAciertosLocales() {
+        return aciertosLocales.sum();
+    }
+
+    public long getAciertosRedis() {
+        return aciertosRedis.sum();
+    }
+
+    public long getFallos() {
+        return fallos.sum();
+    }
+
+    public long getErroresRedis() {
+        return erroresRedis.sum();
+    }
+
+    public long getEntradasLocales() {
+        return local.estimatedSize();
+    }
+
+    public long getDesalojosLocales() {
+        return local.stats().evictionCount();
+    }
+
+    private Object leerRedis(String clave) {
+        try {
+            ValueWrapper wrapper = redis.get(clave);
+            return wrapper != null ? wrapper.get() : null;
+        } catch (Exception e) {
+            erroresRedis.increment();
+            System.err.println("Error leyendo " + nombre + "::" + clave + " de Redis: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void escribirRedis(String clave, Object valor) {
+        try {
+            redis.put(clave, valor);
+        } catch (Exception e) {
+            erroresRedis.increment();
+            System.err.println("Error escribiendo " + nombre + "::" + clave + " en Redis: " + e.getMessage());
+        }
+    }
+
+    private static final class Carga {
+        private final CompletableFuture<Object> resultado = new CompletableFuture<>();
+        private volatile boolean invalidada;
+    }
+
+    // Redis guarda las claves como texto; la copia local usa la misma forma para que las invalidaciones coincidan
+    private static String clave(Object key) {
+        return String.valueOf(key);
+    }
+}
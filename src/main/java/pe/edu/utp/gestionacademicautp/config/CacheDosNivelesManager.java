@@ -0,0 +1,85 @@
+package pe.edu.utp.gestionacademicautp.config;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Crea una CacheDosNiveles por región y reparte las invalidaciones entre nodos por pub/sub.
+// Con transacciones activas, los put/evict se aplican recién tras el commit (transactionAware).
+public class CacheDosNivelesManager extends AbstractTransactionSupportingCacheManager implements MessageListener {
+
+    static final String CANAL_INVALIDACION = "cache:invalidaciones";
+
+    // Identifica a este nodo para ignorar sus propios avisos
+    private final String nodo = UUID.randomUUID().toString();
+    private final PropiedadesCache propiedades;
+    private final RedisCacheManager redisCacheManager;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final Map<String, CacheDosNiveles> regiones = new ConcurrentHashMap<>();
+
+    public CacheDosNivelesManager(PropiedadesCache propiedades, RedisCacheManager redisCacheManager,
+                                  StringRedisTemplate stringRedisTemplate) {
+        this.propiedades = propiedades;
+        this.redisCacheManager = redisCacheManager;
+        this.stringRedisTemplate = stringRedisTemplate;
+        setTransactionAware(true);
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        List<Cache> caches = new ArrayList<>();
+        propiedades.getRegiones().forEach((nombre, region) -> caches.add(crear(nombre, region)));
+        return caches;
+    }
+
+    // Regiones usadas en @Cacheable pero no declaradas en las propiedades
+    @Override
+    protected Cache getMissingCache(String name) {
+        return crear(name, propiedades.getPorDefecto());
+    }
+
+    private CacheDosNiveles crear(String nombre, PropiedadesCache.Region region) {
+        Cache redis = Objects.requireNonNull(redisCacheManager.getCache(nombre));
+        CacheDosNiveles cache = new CacheDosNiveles(nombre, region, redis, this::avisarInvalidacion);
+        regiones.put(nombre, cache);
+        return cache;
+    }
+
+    public Collection<CacheDosNiveles> getRegiones() {
+        return regiones.values();
+    }
+
+    private void avisarInvalidacion(String region, String clave) {
+        String mensaje = clave != null ? nodo + "\n" + region + "\n" + clave : nodo + "\n" + region;
+        try {
+            stringRedisTemplate.convertAndSend(CANAL_INVALIDACION, mensaje);
+        } catch (Exception e) {
+            // Los demás nodos descartarán su copia al vencer el TTL local de la región
+            System.err.println("Error publicando la invalidación de cache: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] partes = new String(message.getBody(), StandardCharsets.UTF_8).split("\n", 3);
+        if (partes.length < 2 || partes[0].equals(nodo)) {
+            return;
+        }
+        CacheDosNiveles cache = regiones.get(partes[1]);
+        if (cache != null) {
+            cache.invalidarLocal(partes.length == 3 ? partes[2] : null);
+        }
+    }
+}
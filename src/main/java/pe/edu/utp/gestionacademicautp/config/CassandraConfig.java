@@ -2,12 +2,15 @@ package pe.edu.utp.gestionacademicautp.config;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.data.cassandra.config.AbstractCassandraConfiguration;
+import org.springframework.data.cassandra.config.AbstractReactiveCassandraConfiguration;
 import org.springframework.data.cassandra.repository.config.EnableCassandraRepositories;
+import org.springframework.data.cassandra.repository.config.EnableReactiveCassandraRepositories;
 
+// Una sola CqlSession para los repositorios bloqueantes y los reactivos (ReactiveSession la envuelve)
 @Configuration
 @EnableCassandraRepositories(basePackages = "pe.edu.utp.gestionacademicautp.repository.cassandra")
-public class CassandraConfig extends AbstractCassandraConfiguration {
+@EnableReactiveCassandraRepositories(basePackages = "pe.edu.utp.gestionacademicautp.repository.cassandra")
+public class CassandraConfig extends AbstractReactiveCassandraConfiguration {
 
     @Value("${spring.data.cassandra.keyspace-name:utp_gestion_academica_keyspace}")
     private String keyspaceName;
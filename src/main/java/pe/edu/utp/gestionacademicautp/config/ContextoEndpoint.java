@@ -0,0 +1,53 @@
+package pe.edu.utp.gestionacademicautp.config;
+
+import java.util.function.Supplier;
+
+// Endpoint (método y patrón de la ruta) que está atendiendo el hilo actual, para etiquetar las métricas
+// de los almacenes. Lo fija MetricasConfig al entrar a un controlador; las tareas que se pasan a otros
+// hilos deben envolverse con conEndpoint para conservarlo.
+public final class ContextoEndpoint {
+
+    static final String SIN_ENDPOINT = "ninguno";
+
+    private static final ThreadLocal<String> ACTUAL = new ThreadLocal<>();
+
+    private ContextoEndpoint() {
+    }
+
+    public static String actual() {
+        String endpoint = ACTUAL.get();
+        return endpoint != null ? endpoint : SIN_ENDPOINT;
+    }
+
+    public static <T> Supplier<T> conEndpoint(Supplier<T> tarea) {
+        String endpoint = ACTUAL.get();
+        if (endpoint == null) {
+            return tarea;
+        }
+        return () -> {
+            String anterior = ACTUAL.get();
+            ACTUAL.set(endpoint);
+            try {
+                return tarea.get();
+            } finally {
+                restaurar(anterior);
+            }
+        };
+    }
+
+    static void fijar(String endpoint) {
+        ACTUAL.set(endpoint);
+    }
+
+    static void limpiar() {
+        ACTUAL.remove();
+    }
+
+    private static void restaurar(String anterior) {
+        if (anterior != null) {
+            ACTUAL.set(anterior);
+        } else {
+            ACTUAL.remove();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package pe.edu.utp.gestionacademicautp.config;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Solo con hilos virtuales (perfil java21): un driver JDBC que hace E/S dentro de bloques synchronized fija
+// el hilo portador mientras espera a la base de datos, y con pocos portadores eso bloquea todo el servidor.
+// Revisa al arrancar que los drivers cargados sean versiones que ya usan locks en lugar de synchronized.
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class GuardiaHilosVirtuales {
+
+    // Clase del driver -> versión mínima {mayor, menor} sin synchronized en el camino de E/S
+    private static final Map<String, int[]> VERSIONES_SIN_PINNING = Map.of(
+            "org.postgresql.Driver", new int[]{42, 6},
+            "com.mysql.cj.jdbc.Driver", new int[]{9, 0});
+
+    @Value("${app.hilos-virtuales.exigir-drivers:false}")
+    private boolean exigirDrivers;
+
+    @PostConstruct
+    void verificarDrivers() {
+        List<String> problemas = new ArrayList<>();
+        DriverManager.drivers().forEach(driver -> {
+            int[] minima = VERSIONES_SIN_PINNING.get(driver.getClass().getName());
+            if (minima != null && !alcanza(driver, minima)) {
+                problemas.add(driver.getClass().getName() + " " + driver.getMajorVersion() + "."
+                        + driver.getMinorVersion() + " (se requiere " + minima[0] + "." + minima[1] + " o superior)");
+            }
+        });
+        if (problemas.isEmpty()) {
+            return;
+        }
+        String mensaje = "Drivers JDBC que fijan hilos virtuales: " + String.join(", ", problemas);
+        if (exigirDrivers) {
+            throw new IllegalStateException(mensaje);
+        }
+        System.err.println(mensaje + ". Ejecute con -Pjava21 o -Djdk.tracePinnedThreads=short para diagnosticar.");
+    }
+
+    private static boolean alcanza(Driver driver, int[] minima) {
+        return driver.getMajorVersion() > minima[0]
+                || (driver.getMajorVersion() == minima[0] && driver.getMinorVersion() >= minima[1]);
+    }
+}
@@ -0,0 +1,79 @@
+package pe.edu.utp.gestionacademicautp.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+// Latencia (histograma) y errores de cada llamada a un almacén, etiquetados por almacén
+// (postgres, mysql, mongo, cassandra, redis), operación y endpoint que la originó
+@Component
+public class MetricasAlmacenes {
+
+    static final String METRICA_LATENCIA = "almacen.operaciones";
+    static final String METRICA_ERRORES = "almacen.errores";
+
+    @FunctionalInterface
+    public interface Operacion<T> {
+        T ejecutar() throws Throwable;
+    }
+
+    private final Meter.MeterProvider<Timer> latencias;
+    private final Meter.MeterProvider<Counter> errores;
+
+    public MetricasAlmacenes(MeterRegistry registry) {
+        this.latencias = Timer.builder(METRICA_LATENCIA)
+                .description("Duración de las llamadas a cada almacén")
+                .publishPercentileHistogram()
+                .withRegistry(registry);
+        this.errores = Counter.builder(METRICA_ERRORES)
+                .description("Llamadas a un almacén que terminaron con excepción")
+                .withRegistry(registry);
+    }
+
+    // Si la llamada devuelve un Mono/Flux (repositorios reactivos, Redis reactivo) la consulta real ocurre al
+    // suscribirse: se mide desde la suscripción hasta que termina, con el endpoint que la ensambló
+    @SuppressWarnings("unchecked")
+    public <T> T medir(String almacen, String operacion, Operacion<T> llamada) throws Throwable {
+        Tags etiquetas = Tags.of("almacen", almacen, "operacion", operacion, "endpoint", ContextoEndpoint.actual());
+        long inicio = System.nanoTime();
+        T resultado;
+        try {
+            resultado = llamada.ejecutar();
+        } catch (Throwable e) {
+            registrarError(etiquetas, e);
+            registrarLatencia(etiquetas, inicio);
+            throw e;
+        }
+        if (resultado instanceof Mono<?> mono) {
+            return (T) Mono.defer(() -> {
+                long suscripcion = System.nanoTime();
+                return mono.doOnError(e -> registrarError(etiquetas, e))
+                        .doFinally(senal -> registrarLatencia(etiquetas, suscripcion));
+            });
+        }
+        if (resultado instanceof Flux<?> flux) {
+            return (T) Flux.defer(() -> {
+                long suscripcion = System.nanoTime();
+                return flux.doOnError(e -> registrarError(etiquetas, e))
+                        .doFinally(senal -> registrarLatencia(etiquetas, suscripcion));
+            });
+        }
+        registrarLatencia(etiquetas, inicio);
+        return resultado;
+    }
+
+    private void registrarError(Tags etiquetas, Throwable e) {
+        errores.withTags(etiquetas.and("excepcion", e.getClass().getSimpleName())).increment();
+    }
+
+    private void registrarLatencia(Tags etiquetas, long inicio) {
+        latencias.withTags(etiquetas).record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,64 @@
+package pe.edu.utp.gestionacademicautp.config;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Mide los repositorios (Spring Data y los @Repository propios) y los dos JdbcTemplate.
+// Redis se mide a nivel de conexión en MetricasConfig, así que cubre también RedisTemplate y la cache.
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class MetricasAlmacenesAspect {
+
+    private static final String PAQUETE_REPOSITORIOS = "pe.edu.utp.gestionacademicautp.repository.";
+
+    private final MetricasAlmacenes metricas;
+
+    // El almacén sale del subpaquete del repositorio (repository.postgres, repository.mongo, ...)
+    private final Map<Class<?>, String> almacenPorClase = new ConcurrentHashMap<>();
+
+    // Los fragmentos *Impl se excluyen: ya se miden a través del repositorio que los expone. Los repositorios de
+    // Redis también: cada comando ya se mide en la fábrica de conexiones (MetricasConfig)
+    @Around("(this(org.springframework.data.repository.Repository)"
+            + " || within(pe.edu.utp.gestionacademicautp.repository..*))"
+            + " && !within(pe.edu.utp.gestionacademicautp.repository..*Impl)"
+            + " && !within(pe.edu.utp.gestionacademicautp.repository.redis..*)")
+    public Object medirRepositorio(ProceedingJoinPoint joinPoint) throws Throwable {
+        String almacen = almacenPorClase.computeIfAbsent(joinPoint.getTarget().getClass(),
+                MetricasAlmacenesAspect::almacenDe);
+        return metricas.medir(almacen, joinPoint.getSignature().getName(), joinPoint::proceed);
+    }
+
+    @Around("execution(* org.springframework.jdbc.core.JdbcOperations.*(..)) && bean(postgresJdbcTemplate)")
+    public Object medirJdbcPostgres(ProceedingJoinPoint joinPoint) throws Throwable {
+        return metricas.medir("postgres", joinPoint.getSignature().getName(), joinPoint::proceed);
+    }
+
+    @Around("execution(* org.springframework.jdbc.core.JdbcOperations.*(..)) && bean(mysqlJdbcTemplate)")
+    public Object medirJdbcMysql(ProceedingJoinPoint joinPoint) throws Throwable {
+        return metricas.medir("mysql", joinPoint.getSignature().getName(), joinPoint::proceed);
+    }
+
+    private static String almacenDe(Class<?> clase) {
+        // Los repositorios de Spring Data son proxies: el paquete está en la interfaz que implementan
+        for (Class<?> interfaz : ClassUtils.getAllInterfacesForClassAsSet(clase)) {
+            if (interfaz.getName().startsWith(PAQUETE_REPOSITORIOS)) {
+                return subpaquete(interfaz);
+            }
+        }
+        return clase.getName().startsWith(PAQUETE_REPOSITORIOS) ? subpaquete(clase) : "desconocido";
+    }
+
+    private static String subpaquete(Class<?> clase) {
+        String resto = clase.getName().substring(PAQUETE_REPOSITORIOS.length());
+        int punto = resto.indexOf('.');
+        return punto > 0 ? resto.substring(0, punto) : "desconocido";
+    }
+}
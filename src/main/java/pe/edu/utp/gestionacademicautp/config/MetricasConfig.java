@@ -0,0 +1,122 @@
+package pe.edu.utp.gestionacademicautp.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Métricas de almacenes: etiqueta de endpoint por petición y medición de cada comando Redis.
+// Las peticiones HTTP en sí las mide Spring Boot (http.server.requests); todo se expone en /actuator/prometheus.
+@Configuration
+public class MetricasConfig implements WebMvcConfigurer {
+
+    private static final Map<Class<?>, Class<?>[]> INTERFACES = new ConcurrentHashMap<>();
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new AsyncHandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                Object patron = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                ContextoEndpoint.fijar(request.getMethod() + " " + (patron != null ? patron : "desconocido"));
+                return true;
+            }
+
+            @Override
+            public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                                       Object handler) {
+                ContextoEndpoint.limpiar();
+            }
+
+            @Override
+            public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                        Exception ex) {
+                ContextoEndpoint.limpiar();
+            }
+        });
+    }
+
+    // Envuelve la fábrica de conexiones Redis: cada comando (GET, HSET, EVALSHA, ...) pasa por
+    // MetricasAlmacenes, sin importar si viene de RedisTemplate, StringRedisTemplate o la cache
+    @Bean
+    static BeanPostProcessor metricasRedisPostProcessor(ObjectProvider<MetricasAlmacenes> metricas) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof RedisConnectionFactory) {
+                    return envolver(bean, new ComandosRedisMedidos(bean, metricas));
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static Object envolver(Object objetivo, InvocationHandler handler) {
+        Class<?>[] interfaces = INTERFACES.computeIfAbsent(objetivo.getClass(), ClassUtils::getAllInterfacesForClass);
+        return Proxy.newProxyInstance(objetivo.getClass().getClassLoader(), interfaces, handler);
+    }
+
+    private static final class ComandosRedisMedidos implements InvocationHandler {
+
+        // Suscripciones pub/sub: quedan abiertas mientras viva el listener, no son una operación medible
+        private static final Set<String> SIN_MEDIR = Set.of("subscribe", "pSubscribe");
+        // Conexiones bloqueantes y reactivas; en las reactivas cada comando devuelve un Mono/Flux
+        private static final Set<String> CONEXIONES = Set.of("getConnection", "getClusterConnection",
+                "getReactiveConnection", "getReactiveClusterConnection");
+
+        private final Object objetivo;
+        private final ObjectProvider<MetricasAlmacenes> metricas;
+
+        ComandosRedisMedidos(Object objetivo, ObjectProvider<MetricasAlmacenes> metricas) {
+            this.objetivo = objetivo;
+            this.metricas = metricas;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String nombre = method.getName();
+            if (esComando(method) && !SIN_MEDIR.contains(nombre)) {
+                return metricas.getObject().medir("redis", nombre, () -> invocar(method, args));
+            }
+            Object resultado = invocar(method, args);
+            // Conexiones y grupos de comandos (stringCommands(), hashCommands(), ...) también se envuelven
+            boolean conexion = CONEXIONES.contains(nombre);
+            boolean grupoComandos = nombre.endsWith("Commands") && method.getParameterCount() == 0;
+            if (resultado != null && (conexion || grupoComandos)) {
+                return envolver(resultado, new ComandosRedisMedidos(resultado, metricas));
+            }
+            return resultado;
+        }
+
+        private static boolean esComando(Method method) {
+            Class<?> declarante = method.getDeclaringClass();
+            return !method.getName().endsWith("Commands")
+                    && (declarante.getSimpleName().endsWith("Commands")
+                    || declarante.getSimpleName().equals("DefaultedRedisConnection"));
+        }
+
+        private Object invocar(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(objetivo, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package pe.edu.utp.gestionacademicautp.config;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Recibe de Hikari el tiempo que cada hilo esperó por una conexión y cuánto la tuvo en uso,
+// acumulado por pool (el nombre del pool identifica al almacén). También reenvía todo a Micrometer
+// (hikaricp_connections_* en /actuator/prometheus), que Spring Boot deja de registrar al usar una fábrica propia.
+@Component
+public class MetricasPoolConexiones implements MetricsTrackerFactory {
+
+    private final Map<String, Registro> registros = new ConcurrentHashMap<>();
+    // El registro de métricas se resuelve al crear el pool (primera conexión), no al construir los DataSource
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public MetricasPoolConexiones(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        Registro registro = registros.computeIfAbsent(poolName, nombre -> new Registro());
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        IMetricsTracker micrometer = registry != null
+                ? new MicrometerMetricsTrackerFactory(registry).create(poolName, poolStats)
+                : new IMetricsTracker() {
+                };
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+                micrometer.recordConnectionCreatedMillis(connectionCreatedMillis);
+            }
+
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                registro.adquisiciones.increment();
+                registro.esperaTotalNanos.add(elapsedAcquiredNanos);
+                registro.esperaMaximaNanos.accumulateAndGet(elapsedAcquiredNanos, Math::max);
+                micrometer.recordConnectionAcquiredNanos(elapsedAcquiredNanos);
+            }
+
+            @Override
+            public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                registro.usos.increment();
+                registro.usoTotalMs.add(elapsedBorrowedMillis);
+                micrometer.recordConnectionUsageMillis(elapsedBorrowedMillis);
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                registro.timeouts.increment();
+                micrometer.recordConnectionTimeout();
+            }
+
+            @Override
+            public void close() {
+                micrometer.close();
+            }
+        };
+    }
+
+    public Registro registro(String poolName) {
+        return registros.computeIfAbsent(poolName, nombre -> new Registro());
+    }
+
+    public static final class Registro {
+        private final LongAdder adquisiciones = new LongAdder();
+        private final LongAdder esperaTotalNanos = new LongAdder();
+        private final AtomicLong esperaMaximaNanos = new AtomicLong();
+        private final LongAdder usos = new LongAdder();
+        private final LongAdder usoTotalMs = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+
+        public long adquisiciones() {
+            return adquisiciones.sum();
+        }
+
+        public double esperaPromedioMs() {
+            long total = adquisiciones.sum();
+            return total == 0 ? 0 : esperaTotalNanos.sum() / 1_000_000.0 / total;
+        }
+
+        public double esperaMaximaMs() {
+            return esperaMaximaNanos.get() / 1_000_000.0;
+        }
+
+        public double usoPromedioMs() {
+            long total = usos.sum();
+            return total == 0 ? 0 : (double) usoTotalMs.sum() / total;
+        }
+
+        public long timeouts() {
+            return timeouts.sum();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package pe.edu.utp.gestionacademicautp.config;
 
+import com.zaxxer.hikari.HikariDataSource;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -27,9 +28,16 @@ public class MySQLDataSourceConfig {
         return new DataSourceProperties();
     }
 
+    // Pool Hikari configurable desde spring.datasource.mysql.hikari.* (tamaño, timeouts, detección de fugas
+    // y propiedades del driver); las esperas por conexión se registran en MetricasPoolConexiones
     @Bean
-    public DataSource mysqlDataSource(@Qualifier("mysqlDataSourceProperties") DataSourceProperties properties) {
-        return properties.initializeDataSourceBuilder().build();
+    @ConfigurationProperties("spring.datasource.mysql.hikari")
+    public HikariDataSource mysqlDataSource(
+            @Qualifier("mysqlDataSourceProperties") DataSourceProperties properties,
+            MetricasPoolConexiones metricasPool) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setMetricsTrackerFactory(metricasPool);
+        return dataSource;
     }
 
     @Bean
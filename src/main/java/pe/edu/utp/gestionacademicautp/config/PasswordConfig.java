@@ -1,5 +1,6 @@
 package pe.edu.utp.gestionacademicautp.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -7,8 +8,9 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Configuration
 public class PasswordConfig {
+    // Costo de BCrypt (log2 de las rondas); al cambiarlo, los hashes se regeneran en el siguiente login
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${app.seguridad.bcrypt-costo:10}") int costo) {
+        return new BCryptPasswordEncoder(costo);
     }
 }
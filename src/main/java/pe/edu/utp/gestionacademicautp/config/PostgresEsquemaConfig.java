@@ -0,0 +1,34 @@
+package pe.edu.utp.gestionacademicautp.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.datasource.init.DataSourceInitializer;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
+
+// Ejecuta al arrancar los scripts idempotentes de db/postgres (CREATE ... IF NOT EXISTS) en orden alfabético,
+// así las tablas propias de la aplicación existen aunque la base se haya creado con una versión anterior
+@Configuration
+public class PostgresEsquemaConfig {
+
+    @Bean
+    public DataSourceInitializer postgresEsquemaInitializer(@Qualifier("postgresDataSource") DataSource dataSource)
+            throws IOException {
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator();
+        Resource[] scripts = new PathMatchingResourcePatternResolver().getResources("classpath:db/postgres/*.sql");
+        Arrays.sort(scripts, Comparator.comparing(script -> String.valueOf(script.getFilename())));
+        populator.addScripts(scripts);
+
+        DataSourceInitializer initializer = new DataSourceInitializer();
+        initializer.setDataSource(dataSource);
+        initializer.setDatabasePopulator(populator);
+        return initializer;
+    }
+}
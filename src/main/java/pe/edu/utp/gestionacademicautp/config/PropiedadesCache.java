@@ -0,0 +1,25 @@
+package pe.edu.utp.gestionacademicautp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Regiones de la cache de dos niveles: app.cache.regiones.<region>.* y app.cache.por-defecto.* para las no declaradas
+@Data
+@ConfigurationProperties("app.cache")
+public class PropiedadesCache {
+
+    private Region porDefecto = new Region();
+    private Map<String, Region> regiones = new LinkedHashMap<>();
+
+    @Data
+    public static class Region {
+        // Vida de la entrada en Redis (compartida por todos los nodos)
+        private long ttlSegundos = 600;
+        // Vida de la copia local; acota lo que puede durar una entrada si se pierde una invalidación por pub/sub
+        private long ttlLocalSegundos = 60;
+        private long maximoLocal = 10000;
+    }
+}
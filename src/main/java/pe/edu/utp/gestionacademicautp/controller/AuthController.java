@@ -1,10 +1,15 @@
 package pe.edu.utp.gestionacademicautp.controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import pe.edu.utp.gestionacademicautp.dto.LoginRequest;
 import pe.edu.utp.gestionacademicautp.dto.LoginResponse;
+import pe.edu.utp.gestionacademicautp.exception.IntentosExcedidosException;
+import pe.edu.utp.gestionacademicautp.exception.ServicioSaturadoException;
 import pe.edu.utp.gestionacademicautp.model.User;
 import pe.edu.utp.gestionacademicautp.service.AuthService;
 
@@ -13,6 +18,9 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -22,21 +30,33 @@ public class AuthController {
     private AuthService authService;
     
     @PostMapping("/login")
-    public ResponseEntity<LoginResponse> login(@RequestBody LoginRequest loginRequest, HttpServletResponse response) {
+    public CompletableFuture<ResponseEntity<LoginResponse>> login(@RequestBody LoginRequest loginRequest,
+                                                                  HttpServletRequest request) {
         try {
-            String sessionId = authService.login(loginRequest.getUsername(), loginRequest.getPassword());
-            
-            if (sessionId != null) {
-                // Crear cookie de sesión
-                Cookie sessionCookie = new Cookie("SESSION_ID", sessionId);
-                sessionCookie.setMaxAge(24 * 60 * 60); // 24 horas
-                sessionCookie.setPath("/");
-                sessionCookie.setHttpOnly(true);
-                response.addCookie(sessionCookie);
-                
-                User user = authService.getUserByUsername(loginRequest.getUsername());
-                
-                return ResponseEntity.ok(new LoginResponse(
+            return authService.login(loginRequest.getUsername(), loginRequest.getPassword(), request.getRemoteAddr())
+                    .thenApply(sessionId -> respuestaLogin(loginRequest.getUsername(), sessionId))
+                    .exceptionally(this::respuestaErrorLogin);
+        } catch (RuntimeException e) {
+            return CompletableFuture.completedFuture(respuestaErrorLogin(e));
+        }
+    }
+    
+    private ResponseEntity<LoginResponse> respuestaLogin(String username, String sessionId) {
+        if (sessionId == null) {
+            return ResponseEntity.badRequest().body(new LoginResponse(false, "Credenciales inválidas"));
+        }
+        // Crear cookie de sesión (en la respuesta: el login termina fuera del hilo de la petición)
+        ResponseCookie sessionCookie = ResponseCookie.from("SESSION_ID", sessionId)
+                .maxAge(24 * 60 * 60) // 24 horas
+                .path("/")
+                .httpOnly(true)
+                .build();
+        
+        User user = authService.getUserByUsername(username);
+        
+        return ResponseEntity.ok()
+                .header(HttpHeaders.SET_COOKIE, sessionCookie.toString())
+                .body(new LoginResponse(
                     true,
                     "Login exitoso",
                     sessionId,
@@ -44,26 +64,21 @@ public class AuthController {
                     user.getFullName(),
                     user.getRole()
                 ));
-            } else {
-                return ResponseEntity.badRequest().body(new LoginResponse(
-                    false,
-                    "Credenciales inválidas",
-                    null,
-                    null,
-                    null,
-                    null
-                ));
-            }
-        } catch (Exception e) {
-            return ResponseEntity.internalServerError().body(new LoginResponse(
-                false,
-                "Error interno del servidor",
-                null,
-                null,
-                null,
-                null
-            ));
+    }
+    
+    private ResponseEntity<LoginResponse> respuestaErrorLogin(Throwable error) {
+        Throwable causa = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (causa instanceof IntentosExcedidosException excedidos) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(excedidos.getSegundosEspera()))
+                    .body(new LoginResponse(false, excedidos.getMessage()));
+        }
+        if (causa instanceof ServicioSaturadoException || causa instanceof TimeoutException) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(new LoginResponse(false, "Servicio ocupado, intente nuevamente"));
         }
+        return ResponseEntity.internalServerError().body(new LoginResponse(false, "Error interno del servidor"));
     }
     
     @PostMapping("/logout")
@@ -0,0 +1,56 @@
+package pe.edu.utp.gestionacademicautp.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CookieValue;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import pe.edu.utp.gestionacademicautp.service.AuthService;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Verificación de sesión no bloqueante (API v2); el login y la renovación siguen en /api/auth
+@RestController
+@RequestMapping("/api/v2/auth")
+@RequiredArgsConstructor
+public class AuthReactivoController {
+
+    private final AuthService authService;
+
+    // GET /api/v2/auth/me - Usuario de la sesión actual (cookie SESSION_ID o header Authorization: Bearer)
+    @GetMapping("/me")
+    public Mono<ResponseEntity<Map<String, Object>>> getCurrentUser(
+            @CookieValue(name = "SESSION_ID", required = false) String sessionCookie,
+            @RequestHeader(name = HttpHeaders.AUTHORIZATION, required = false) String authHeader) {
+        String sessionId = sessionCookie;
+        if (sessionId == null && authHeader != null && authHeader.startsWith("Bearer ")) {
+            sessionId = authHeader.substring(7);
+        }
+
+        return authService.validateSessionReactive(sessionId)
+                .map(user -> {
+                    Map<String, Object> result = new HashMap<>();
+                    result.put("authenticated", true);
+                    result.put("username", user.getUsername());
+                    result.put("fullName", user.getFullName());
+                    result.put("email", user.getEmail());
+                    result.put("role", user.getRole());
+                    return result;
+                })
+                .defaultIfEmpty(noAutenticado("Sesión no válida o expirada"))
+                .onErrorResume(e -> Mono.just(noAutenticado("Error al validar sesión")))
+                .map(ResponseEntity::ok);
+    }
+
+    private static Map<String, Object> noAutenticado(String mensaje) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("authenticated", false);
+        result.put("message", mensaje);
+        return result;
+    }
+}
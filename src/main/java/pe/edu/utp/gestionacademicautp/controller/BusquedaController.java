@@ -0,0 +1,40 @@
+package pe.edu.utp.gestionacademicautp.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import pe.edu.utp.gestionacademicautp.dto.PaginaDTO;
+import pe.edu.utp.gestionacademicautp.dto.ResultadoBusquedaDTO;
+import pe.edu.utp.gestionacademicautp.service.BusquedaService;
+import pe.edu.utp.gestionacademicautp.service.BusquedaService.Tipo;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/search")
+@CrossOrigin(origins = "http://localhost:3000")
+@RequiredArgsConstructor
+public class BusquedaController {
+
+    private final BusquedaService busquedaService;
+
+    // GET /api/search?q=&tipos=estudiantes,profesores&cursor=&tamano= - Búsqueda por prefijo, tolerante a erratas
+    @GetMapping
+    public ResponseEntity<PaginaDTO<ResultadoBusquedaDTO>> buscar(
+            @RequestParam String q,
+            @RequestParam(required = false) List<String> tipos,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamano) {
+        try {
+            Set<Tipo> filtrados = EnumSet.noneOf(Tipo.class);
+            if (tipos != null) {
+                tipos.forEach(tipo -> filtrados.add(Tipo.desde(tipo)));
+            }
+            return ResponseEntity.ok(busquedaService.buscar(q, filtrados, cursor, tamano));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -1,12 +1,21 @@
 package pe.edu.utp.gestionacademicautp.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import pe.edu.utp.gestionacademicautp.dto.CursoDTO;
+import pe.edu.utp.gestionacademicautp.dto.EstudianteDTO;
+import pe.edu.utp.gestionacademicautp.dto.PaginaDTO;
+import pe.edu.utp.gestionacademicautp.model.cassandra.Profesor;
 import pe.edu.utp.gestionacademicautp.service.CursoService;
+import pe.edu.utp.gestionacademicautp.service.NominaService;
+import pe.edu.utp.gestionacademicautp.service.ProfesorService;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/cursos")
@@ -14,12 +23,31 @@ import java.util.List;
 public class CursoController {
 
     private final CursoService cursoService;
+    private final NominaService nominaService;
+    private final ProfesorService profesorService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
     public List<CursoDTO> getAll() {
         return cursoService.getAllCursos();
     }
 
+    @GetMapping("/pagina")
+    public ResponseEntity<PaginaDTO<CursoDTO>> getPagina(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int tamano) {
+        try {
+            return ResponseEntity.ok(cursoService.getPaginaCursos(cursor, tamano));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> stream() {
+        return RespuestaNdjson.de(objectMapper, cursoService::streamAllCursos);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<CursoDTO> getById(@PathVariable Integer id) {
         CursoDTO cursoDTO = cursoService.getCursoById(id);
@@ -30,6 +58,31 @@ public class CursoController {
         }
     }
 
+    // GET /api/cursos/{id}/estudiantes?cursor=&tamano= - Nómina del curso, paginada por ID de estudiante
+    @GetMapping("/{id}/estudiantes")
+    public ResponseEntity<PaginaDTO<EstudianteDTO>> getEstudiantes(
+            @PathVariable Integer id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int tamano) {
+        try {
+            return ResponseEntity.ok(nominaService.getEstudiantesDeCurso(id, cursor, tamano));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // GET /api/cursos/{id}/estudiantes/total - Total de matriculados en el curso
+    @GetMapping("/{id}/estudiantes/total")
+    public Map<String, Long> getTotalEstudiantes(@PathVariable Integer id) {
+        return Map.of("inscritos", cursoService.getTotalInscritos(id));
+    }
+
+    // GET /api/cursos/{id}/profesores - Profesores que dictan el curso (una partición de profesores_by_curso)
+    @GetMapping("/{id}/profesores")
+    public List<Profesor> getProfesores(@PathVariable Integer id) {
+        return profesorService.getProfesoresByCurso(id);
+    }
+
     @PostMapping
     public CursoDTO create(@RequestBody CursoDTO cursoDTO) {
         return cursoService.createCurso(cursoDTO);
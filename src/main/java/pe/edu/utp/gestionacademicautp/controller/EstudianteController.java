@@ -1,9 +1,14 @@
 package pe.edu.utp.gestionacademicautp.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import pe.edu.utp.gestionacademicautp.dto.EstudianteDTO;
+import pe.edu.utp.gestionacademicautp.dto.PaginaDTO;
+import pe.edu.utp.gestionacademicautp.dto.SincronizacionRelacionesDTO;
 import pe.edu.utp.gestionacademicautp.service.EstudianteService;
 
 import java.util.List;
@@ -14,12 +19,29 @@ import java.util.List;
 public class EstudianteController {
 
     private final EstudianteService estudianteService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
     public List<EstudianteDTO> getAll() {
         return estudianteService.getAll();
     }
 
+    @GetMapping("/pagina")
+    public ResponseEntity<PaginaDTO<EstudianteDTO>> getPagina(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int tamano) {
+        try {
+            return ResponseEntity.ok(estudianteService.getPagina(cursor, tamano));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> stream() {
+        return RespuestaNdjson.de(objectMapper, estudianteService::streamAll);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<EstudianteDTO> getById(@PathVariable Integer id) {
         EstudianteDTO estudianteDTO = estudianteService.getById(id);
@@ -45,6 +67,28 @@ public class EstudianteController {
         }
     }
 
+    @PutMapping("/{id}/cursos")
+    public ResponseEntity<SincronizacionRelacionesDTO> updateCursos(@PathVariable Integer id,
+                                                                    @RequestBody List<Integer> cursoIds) {
+        SincronizacionRelacionesDTO resultado = estudianteService.updateCursos(id, cursoIds);
+        if (resultado != null) {
+            return ResponseEntity.ok(resultado);
+        } else {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @PutMapping("/{id}/proyectos")
+    public ResponseEntity<SincronizacionRelacionesDTO> updateProyectos(@PathVariable Integer id,
+                                                                       @RequestBody List<String> proyectoIds) {
+        SincronizacionRelacionesDTO resultado = estudianteService.updateProyectos(id, proyectoIds);
+        if (resultado != null) {
+            return ResponseEntity.ok(resultado);
+        } else {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable Integer id) {
         estudianteService.delete(id);
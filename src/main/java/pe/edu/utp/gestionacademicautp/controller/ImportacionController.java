@@ -0,0 +1,37 @@
+package pe.edu.utp.gestionacademicautp.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import pe.edu.utp.gestionacademicautp.dto.ResultadoImportacionDTO;
+import pe.edu.utp.gestionacademicautp.service.ImportacionService;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/importacion")
+@RequiredArgsConstructor
+public class ImportacionController {
+
+    private final ImportacionService importacionService;
+
+    // POST /api/importacion/{estudiantes|cursos|profesores|proyectos|matriculas}
+    // El cuerpo (text/csv con encabezado o application/x-ndjson) se procesa a medida que llega
+    @PostMapping(value = "/{entidad}", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ResultadoImportacionDTO> importar(
+            @PathVariable String entidad,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String tipoContenido,
+            @RequestParam(required = false) Integer tamanoLote,
+            InputStream cuerpo) throws IOException {
+        if (!ImportacionService.esEntidadValida(entidad)) {
+            return ResponseEntity.notFound().build();
+        }
+        ImportacionService.Formato formato = tipoContenido.toLowerCase().startsWith("text/csv")
+                ? ImportacionService.Formato.CSV
+                : ImportacionService.Formato.NDJSON;
+        return ResponseEntity.ok(importacionService.importar(entidad, formato, cuerpo, tamanoLote));
+    }
+}
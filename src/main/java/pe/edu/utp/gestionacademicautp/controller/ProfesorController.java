@@ -1,9 +1,13 @@
 package pe.edu.utp.gestionacademicautp.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import pe.edu.utp.gestionacademicautp.dto.PaginaDTO;
 import pe.edu.utp.gestionacademicautp.model.cassandra.Profesor;
 import pe.edu.utp.gestionacademicautp.service.ProfesorService;
 
@@ -19,6 +23,9 @@ public class ProfesorController {
     @Autowired
     private ProfesorService profesorService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     // GET /api/profesores - Obtener todos los profesores
     @GetMapping
     public ResponseEntity<List<Profesor>> getAllProfesores() {
@@ -30,6 +37,38 @@ public class ProfesorController {
         }
     }
 
+    // GET /api/profesores?ids=a,b,c - Obtener varios profesores por ID, en el orden pedido
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<Profesor>> getProfesoresByIds(@RequestParam List<UUID> ids) {
+        try {
+            return ResponseEntity.ok(profesorService.getProfesoresByIds(ids));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    // GET /api/profesores/pagina?cursor=&tamano= - Obtener una página de profesores
+    @GetMapping("/pagina")
+    public ResponseEntity<PaginaDTO<Profesor>> getPaginaProfesores(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int tamano) {
+        try {
+            return ResponseEntity.ok(profesorService.getPaginaProfesores(cursor, tamano));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    // GET /api/profesores/stream - Transmitir todos los profesores como NDJSON
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamProfesores() {
+        return RespuestaNdjson.de(objectMapper, profesorService::streamAllProfesores);
+    }
+
     // GET /api/profesores/{id} - Obtener profesor por ID
     @GetMapping("/{id}")
     public ResponseEntity<Profesor> getProfesorById(@PathVariable UUID id) {
@@ -0,0 +1,61 @@
+package pe.edu.utp.gestionacademicautp.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import pe.edu.utp.gestionacademicautp.model.cassandra.Profesor;
+import pe.edu.utp.gestionacademicautp.service.ProfesorReactivoService;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+// API v2 de profesores sobre el driver reactivo de Cassandra. Los listados se transmiten como NDJSON
+// a medida que el cliente los consume.
+@RestController
+@RequestMapping("/api/v2/profesores")
+@CrossOrigin(origins = "http://localhost:3000")
+@RequiredArgsConstructor
+public class ProfesorReactivoController {
+
+    private final ProfesorReactivoService profesorReactivoService;
+
+    // GET /api/v2/profesores - Transmitir todos los profesores como NDJSON
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Profesor> getAllProfesores() {
+        return profesorReactivoService.getAllProfesores();
+    }
+
+    // GET /api/v2/profesores/{id} - Obtener profesor por ID
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Profesor>> getProfesorById(@PathVariable UUID id) {
+        return profesorReactivoService.getProfesorById(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    // GET /api/v2/profesores/activos - Obtener profesores activos
+    @GetMapping(value = "/activos", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Profesor> getProfesoresActivos() {
+        return profesorReactivoService.getProfesoresActivos();
+    }
+
+    // GET /api/v2/profesores/especialidad/{especialidad} - Buscar por especialidad
+    @GetMapping(value = "/especialidad/{especialidad}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Profesor> getProfesoresByEspecialidad(@PathVariable String especialidad) {
+        return profesorReactivoService.getProfesoresByEspecialidad(especialidad);
+    }
+
+    // GET /api/v2/profesores/grado/{grado} - Buscar por grado académico
+    @GetMapping(value = "/grado/{grado}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Profesor> getProfesoresByGrado(@PathVariable String grado) {
+        return profesorReactivoService.getProfesoresByGradoAcademico(grado);
+    }
+
+    // GET /api/v2/profesores/experiencia/{anos} - Buscar por años mínimos de experiencia
+    @GetMapping(value = "/experiencia/{anos}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Profesor> getProfesoresConExperiencia(@PathVariable Integer anos) {
+        return profesorReactivoService.getProfesoresConExperiencia(anos);
+    }
+}
@@ -1,9 +1,15 @@
 package pe.edu.utp.gestionacademicautp.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import pe.edu.utp.gestionacademicautp.dto.EstudianteDTO;
 import pe.edu.utp.gestionacademicautp.dto.ProyectoInvestigacionDTO;
+import pe.edu.utp.gestionacademicautp.dto.PaginaDTO;
+import pe.edu.utp.gestionacademicautp.service.NominaService;
 import pe.edu.utp.gestionacademicautp.service.ProyectoInvestigacionService;
 
 import java.util.List;
@@ -14,12 +20,30 @@ import java.util.List;
 public class ProyectoInvestigacionController {
 
     private final ProyectoInvestigacionService proyectoInvestigacionService;
+    private final NominaService nominaService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
     public List<ProyectoInvestigacionDTO> getAll() {
         return proyectoInvestigacionService.getAllProyectos();
     }
 
+    @GetMapping("/pagina")
+    public ResponseEntity<PaginaDTO<ProyectoInvestigacionDTO>> getPagina(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int tamano) {
+        try {
+            return ResponseEntity.ok(proyectoInvestigacionService.getPaginaProyectos(cursor, tamano));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> stream() {
+        return RespuestaNdjson.de(objectMapper, proyectoInvestigacionService::streamAllProyectos);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ProyectoInvestigacionDTO> getById(@PathVariable String id) {
         ProyectoInvestigacionDTO proyectoDTO = proyectoInvestigacionService.getProyectoById(id);
@@ -30,6 +54,19 @@ public class ProyectoInvestigacionController {
         }
     }
 
+    // GET /api/proyectos/{id}/estudiantes?cursor=&tamano= - Estudiantes que participan, paginados por ID
+    @GetMapping("/{id}/estudiantes")
+    public ResponseEntity<PaginaDTO<EstudianteDTO>> getEstudiantes(
+            @PathVariable String id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int tamano) {
+        try {
+            return ResponseEntity.ok(nominaService.getEstudiantesDeProyecto(id, cursor, tamano));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @PostMapping
     public ProyectoInvestigacionDTO create(@RequestBody ProyectoInvestigacionDTO proyectoDTO) {
         return proyectoInvestigacionService.createProyecto(proyectoDTO);
@@ -0,0 +1,48 @@
+package pe.edu.utp.gestionacademicautp.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import pe.edu.utp.gestionacademicautp.dto.PaginaDTO;
+import pe.edu.utp.gestionacademicautp.dto.ProyectoInvestigacionDTO;
+import pe.edu.utp.gestionacademicautp.service.ProyectoInvestigacionReactivoService;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// API v2 de proyectos: el hilo del servlet se libera al devolver el Mono/Flux y la respuesta se escribe
+// cuando el driver reactivo entrega los documentos
+@RestController
+@RequestMapping("/api/v2/proyectos")
+@RequiredArgsConstructor
+public class ProyectoInvestigacionReactivoController {
+
+    private final ProyectoInvestigacionReactivoService proyectoReactivoService;
+
+    // GET /api/v2/proyectos - Transmitir todos los proyectos como NDJSON; cada documento se pide a MongoDB
+    // solo cuando el anterior ya se escribió en la respuesta (contrapresión)
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ProyectoInvestigacionDTO> getAll() {
+        return proyectoReactivoService.getAllProyectos();
+    }
+
+    // GET /api/v2/proyectos/pagina?cursor=&tamano= - Obtener una página de proyectos
+    @GetMapping("/pagina")
+    public Mono<ResponseEntity<PaginaDTO<ProyectoInvestigacionDTO>>> getPagina(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int tamano) {
+        try {
+            return proyectoReactivoService.getPaginaProyectos(cursor, tamano).map(ResponseEntity::ok);
+        } catch (IllegalArgumentException e) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+    }
+
+    // GET /api/v2/proyectos/{id} - Obtener proyecto por ID
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<ProyectoInvestigacionDTO>> getById(@PathVariable String id) {
+        return proyectoReactivoService.getProyectoById(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,31 @@
+package pe.edu.utp.gestionacademicautp.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+// Respuestas NDJSON: cada fila se escribe en cuanto llega del driver, sin armar la lista completa en memoria
+final class RespuestaNdjson {
+
+    private RespuestaNdjson() {
+    }
+
+    static <T> ResponseEntity<StreamingResponseBody> de(ObjectMapper objectMapper, Consumer<Consumer<T>> productor) {
+        ObjectWriter escritor = objectMapper.writer();
+        StreamingResponseBody cuerpo = salida -> productor.accept(fila -> {
+            try {
+                salida.write(escritor.writeValueAsBytes(fila));
+                salida.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(cuerpo);
+    }
+}
@@ -0,0 +1,31 @@
+package pe.edu.utp.gestionacademicautp.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+import pe.edu.utp.gestionacademicautp.dto.MetricasCacheDTO;
+import pe.edu.utp.gestionacademicautp.dto.MetricasPoolDTO;
+import pe.edu.utp.gestionacademicautp.service.CacheMetricasService;
+import pe.edu.utp.gestionacademicautp.service.PoolConexionesService;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/sistema")
+@RequiredArgsConstructor
+public class SistemaController {
+
+    private final PoolConexionesService poolConexionesService;
+    private final CacheMetricasService cacheMetricasService;
+
+    // GET /api/sistema/pools - conexiones activas, inactivas, hilos en espera y tiempos de espera por almacén
+    @GetMapping("/pools")
+    public List<MetricasPoolDTO> getPools() {
+        return poolConexionesService.getMetricas();
+    }
+
+    // GET /api/sistema/caches - aciertos locales, aciertos en Redis y fallos por región de cache
+    @GetMapping("/caches")
+    public List<MetricasCacheDTO> getCaches() {
+        return cacheMetricasService.getMetricas();
+    }
+}
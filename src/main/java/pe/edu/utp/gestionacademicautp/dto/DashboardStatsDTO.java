@@ -4,6 +4,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.Map;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -12,4 +14,10 @@ public class DashboardStatsDTO {
     private Long totalProfesores;
     private Long totalCursos;
     private Long totalProyectos;
+    // Segundos transcurridos desde que cada contador se verificó contra su base de datos
+    private Map<String, Long> antiguedadSegundos;
+
+    public DashboardStatsDTO(Long totalEstudiantes, Long totalProfesores, Long totalCursos, Long totalProyectos) {
+        this(totalEstudiantes, totalProfesores, totalCursos, totalProyectos, null);
+    }
 }
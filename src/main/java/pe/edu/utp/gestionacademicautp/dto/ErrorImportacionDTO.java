@@ -0,0 +1,14 @@
+package pe.edu.utp.gestionacademicautp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Error de una fila del archivo importado (la fila 1 es la primera línea del archivo)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ErrorImportacionDTO {
+    private long fila;
+    private String mensaje;
+}
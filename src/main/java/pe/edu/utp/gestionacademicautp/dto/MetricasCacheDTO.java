@@ -0,0 +1,23 @@
+package pe.edu.utp.gestionacademicautp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MetricasCacheDTO {
+    private String region;
+    private long ttlSegundos;
+    private long ttlLocalSegundos;
+    private long maximoLocal;
+    private long entradasLocales;
+    private long aciertosLocales;
+    private long aciertosRedis;
+    // Lecturas que terminaron en la base de datos
+    private long fallos;
+    private double tasaAciertos;
+    private long desalojosLocales;
+    private long erroresRedis;
+}
@@ -0,0 +1,25 @@
+package pe.edu.utp.gestionacademicautp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MetricasPoolDTO {
+    private String pool;
+    // false mientras el pool no haya entregado su primera conexión
+    private boolean iniciado;
+    private int activas;
+    private int inactivas;
+    private int total;
+    private int maximo;
+    // Hilos bloqueados esperando una conexión en este momento
+    private int hilosEsperando;
+    private long adquisiciones;
+    private double esperaPromedioMs;
+    private double esperaMaximaMs;
+    private long timeouts;
+    private double usoPromedioMs;
+}
@@ -0,0 +1,16 @@
+package pe.edu.utp.gestionacademicautp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaDTO<T> {
+    private List<T> elementos;
+    // Token opaco para pedir la página siguiente; null cuando ya no hay más resultados
+    private String siguienteCursor;
+}
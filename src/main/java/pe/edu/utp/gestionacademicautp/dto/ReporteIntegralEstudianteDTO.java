@@ -6,6 +6,9 @@ public class ReporteIntegralEstudianteDTO {
     private EstudianteDTO estudiante;
     private List<CursoDTO> cursos;
     private List<ProyectoInvestigacionDTO> proyectos;
+    // true si algún almacén no respondió a tiempo y el reporte está incompleto
+    private boolean parcial;
+    private List<String> fuentesIncompletas;
 
     // Getters and Setters
     public EstudianteDTO getEstudiante() {
@@ -31,4 +34,20 @@ public class ReporteIntegralEstudianteDTO {
     public void setProyectos(List<ProyectoInvestigacionDTO> proyectos) {
         this.proyectos = proyectos;
     }
+
+    public boolean isParcial() {
+        return parcial;
+    }
+
+    public void setParcial(boolean parcial) {
+        this.parcial = parcial;
+    }
+
+    public List<String> getFuentesIncompletas() {
+        return fuentesIncompletas;
+    }
+
+    public void setFuentesIncompletas(List<String> fuentesIncompletas) {
+        this.fuentesIncompletas = fuentesIncompletas;
+    }
 }
@@ -0,0 +1,19 @@
+package pe.edu.utp.gestionacademicautp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoBusquedaDTO {
+    // estudiantes, profesores o proyectos
+    private String tipo;
+    private String id;
+    // Nombre completo o título del proyecto
+    private String titulo;
+    // Correo, especialidad o el inicio del resumen
+    private String detalle;
+    private int puntaje;
+}
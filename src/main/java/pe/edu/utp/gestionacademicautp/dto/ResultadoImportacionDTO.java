@@ -0,0 +1,21 @@
+package pe.edu.utp.gestionacademicautp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoImportacionDTO {
+    private String entidad;
+    private long filasProcesadas;
+    private long filasImportadas;
+    private long filasConError;
+    // Solo se listan los primeros errores; el total siempre está en filasConError
+    private List<ErrorImportacionDTO> errores;
+    private boolean erroresTruncados;
+    private long duracionMs;
+}
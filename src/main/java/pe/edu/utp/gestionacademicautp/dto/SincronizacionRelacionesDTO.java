@@ -0,0 +1,14 @@
+package pe.edu.utp.gestionacademicautp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Filas afectadas al sincronizar las relaciones de un estudiante con la lista recibida
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SincronizacionRelacionesDTO {
+    private int agregados;
+    private int eliminados;
+}
@@ -0,0 +1,16 @@
+package pe.edu.utp.gestionacademicautp.exception;
+
+// Demasiados intentos fallidos de login para el usuario o la IP (429)
+public class IntentosExcedidosException extends RuntimeException {
+
+    private final long segundosEspera;
+
+    public IntentosExcedidosException(String message, long segundosEspera) {
+        super(message);
+        this.segundosEspera = segundosEspera;
+    }
+
+    public long getSegundosEspera() {
+        return segundosEspera;
+    }
+}
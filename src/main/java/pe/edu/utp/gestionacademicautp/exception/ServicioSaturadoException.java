@@ -0,0 +1,9 @@
+package pe.edu.utp.gestionacademicautp.exception;
+
+// El servicio rechaza la operación porque su capacidad está agotada; el cliente debe reintentar más tarde (503)
+public class ServicioSaturadoException extends RuntimeException {
+
+    public ServicioSaturadoException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,42 @@
+package pe.edu.utp.gestionacademicautp.repository.cassandra;
+
+import org.springframework.data.cassandra.repository.Query;
+import org.springframework.data.cassandra.repository.ReactiveCassandraRepository;
+import org.springframework.stereotype.Repository;
+import pe.edu.utp.gestionacademicautp.model.cassandra.Profesor;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.UUID;
+
+// Versión reactiva de ProfesorRepository para la API /api/v2: mismas tablas de consulta, pero el driver
+// entrega las filas a medida que el suscriptor las pide en lugar de bloquear un hilo por consulta
+@Repository
+public interface ProfesorReactiveRepository extends ReactiveCassandraRepository<Profesor, UUID> {
+
+    // Buscar profesores por especialidad
+    @Query("SELECT * FROM profesores_by_especialidad WHERE clave = ?0")
+    Flux<Profesor> findByEspecialidad(String especialidad);
+
+    // Buscar profesores activos (repartidos en varias particiones)
+    default Flux<Profesor> findByActivoTrue() {
+        return findByActivoEnParticiones(ProfesorTablasConsulta.particionesActivo(true));
+    }
+
+    @Query("SELECT * FROM profesores_by_activo WHERE clave IN ?0")
+    Flux<Profesor> findByActivoEnParticiones(List<String> claves);
+
+    // Buscar profesores por grado académico
+    @Query("SELECT * FROM profesores_by_grado WHERE clave = ?0")
+    Flux<Profesor> findByGradoAcademico(String gradoAcademico);
+
+    // Buscar profesores con más de X años de experiencia: las particiones por año se leen una tras otra, de
+    // mayor a menor, así el flujo sale ordenado sin juntar todas las filas
+    default Flux<Profesor> findByAnosExperienciaGreaterThanEqual(Integer anosExperiencia) {
+        return Flux.fromIterable(ProfesorTablasConsulta.particionesExperiencia(anosExperiencia))
+                .concatMap(clave -> findByExperienciaEnParticion(clave, anosExperiencia));
+    }
+
+    @Query("SELECT * FROM profesores_by_experiencia WHERE clave = ?0 AND anos_experiencia >= ?1")
+    Flux<Profesor> findByExperienciaEnParticion(String clave, Integer anosExperiencia);
+}
@@ -5,29 +5,60 @@ import org.springframework.data.cassandra.repository.Query;
 import org.springframework.stereotype.Repository;
 import pe.edu.utp.gestionacademicautp.model.cassandra.Profesor;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
 
+// Los filtros leen las tablas de consulta mantenidas por ProfesorTablasConsulta: una sola partición por valor,
+// salvo activo (PARTICIONES_ACTIVO particiones) y experiencia (una por año desde el mínimo pedido), que se
+// reparten para no concentrar a casi todos los profesores en una partición caliente
 @Repository
 public interface ProfesorRepository extends CassandraRepository<Profesor, UUID> {
-    
+
     // Buscar profesores por especialidad
+    @Query("SELECT * FROM profesores_by_especialidad WHERE clave = ?0")
     List<Profesor> findByEspecialidad(String especialidad);
-    
-    // Buscar profesores activos
-    List<Profesor> findByActivoTrue();
-    
+
+    // Buscar profesores activos (repartidos en varias particiones)
+    default List<Profesor> findByActivoTrue() {
+        return findByActivoEnParticiones(ProfesorTablasConsulta.particionesActivo(true));
+    }
+
+    @Query("SELECT * FROM profesores_by_activo WHERE clave IN ?0")
+    List<Profesor> findByActivoEnParticiones(List<String> claves);
+
     // Buscar profesores por correo
+    @Query("SELECT * FROM profesores_by_correo WHERE clave = ?0")
     List<Profesor> findByCorreo(String correo);
-    
+
     // Buscar profesores por grado académico
+    @Query("SELECT * FROM profesores_by_grado WHERE clave = ?0")
     List<Profesor> findByGradoAcademico(String gradoAcademico);
-    
-    // Buscar profesores con más de X años de experiencia
-    @Query("SELECT * FROM profesores WHERE anos_experiencia >= ?0 ALLOW FILTERING")
-    List<Profesor> findByAnosExperienciaGreaterThanEqual(Integer anosExperiencia);
-    
+
+    // Buscar profesores con más de X años de experiencia: una partición por año desde X (hasta
+    // EXPERIENCIA_TOPE + 1 en una sola consulta IN). Cassandra no ordena entre particiones, así que el orden
+    // final se hace aquí
+    default List<Profesor> findByAnosExperienciaGreaterThanEqual(Integer anosExperiencia) {
+        List<Profesor> profesores = new ArrayList<>(findByExperienciaEnParticiones(
+                ProfesorTablasConsulta.particionesExperiencia(anosExperiencia), anosExperiencia));
+        profesores.sort(Comparator.comparing(Profesor::getAnosExperiencia, Comparator.reverseOrder())
+                .thenComparing(Profesor::getId));
+        return profesores;
+    }
+
+    @Query("SELECT * FROM profesores_by_experiencia WHERE clave IN ?0 AND anos_experiencia >= ?1")
+    List<Profesor> findByExperienciaEnParticiones(List<String> claves, Integer anosExperiencia);
+
+    // Buscar profesores que dictan un curso (ID de MySQL)
+    @Query("SELECT * FROM profesores_by_curso WHERE clave = ?0")
+    List<Profesor> findByCursoId(String cursoId);
+
     // Buscar profesores por nombre (case insensitive)
-    @Query("SELECT * FROM profesores WHERE nombre = ?0 ALLOW FILTERING")
-    List<Profesor> findByNombreIgnoreCase(String nombre);
+    default List<Profesor> findByNombreIgnoreCase(String nombre) {
+        return findByNombreNormalizado(ProfesorTablasConsulta.normalizarNombre(nombre));
+    }
+
+    @Query("SELECT * FROM profesores_by_nombre WHERE clave = ?0")
+    List<Profesor> findByNombreNormalizado(String nombreNormalizado);
 }
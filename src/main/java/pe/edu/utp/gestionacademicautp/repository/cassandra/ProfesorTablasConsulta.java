@@ -0,0 +1,317 @@
+package pe.edu.utp.gestionacademicautp.repository.cassandra;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.BatchStatement;
+import com.datastax.oss.driver.api.core.cql.BatchStatementBuilder;
+import com.datastax.oss.driver.api.core.cql.DefaultBatchType;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.cql.Row;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.cassandra.core.CassandraOperations;
+import org.springframework.data.cassandra.core.query.Query;
+import org.springframework.stereotype.Repository;
+import pe.edu.utp.gestionacademicautp.model.cassandra.Profesor;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+// Tablas de consulta desnormalizadas de profesores: cada filtro se resuelve sin recorrer la tabla principal.
+// Se escriben junto con la tabla principal en un batch LOGGED para que nunca queden desincronizadas.
+// Un profesor aparece en una partición por cada clave: una sola en casi todas, una por curso en profesores_by_curso.
+// Los filtros de baja cardinalidad (activo, experiencia) se reparten en varias particiones acotadas y se leen juntas.
+@Repository
+@RequiredArgsConstructor
+public class ProfesorTablasConsulta {
+
+    private static final String COLUMNAS =
+            "id, nombre, apellido, correo, especialidad, telefono, grado_academico, anos_experiencia, activo, curso_ids";
+    private static final String COLUMNAS_DDL = "id uuid, nombre text, apellido text, correo text, especialidad text, "
+            + "telefono text, grado_academico text, anos_experiencia int, activo boolean, curso_ids set<int>";
+    private static final String MARCADORES = "?, ?, ?, ?, ?, ?, ?, ?, ?, ?";
+
+    // profesores_by_experiencia: una partición por año de experiencia; desde este valor comparten la última
+    // (ordenada por anos_experiencia), así un filtro ">= N" lee a lo sumo EXPERIENCIA_TOPE + 1 particiones
+    public static final int EXPERIENCIA_TOPE = 50;
+
+    // profesores_by_activo: cada valor se reparte en estas particiones según el ID, para no juntar a todos los
+    // activos en una sola
+    public static final int PARTICIONES_ACTIVO = 16;
+
+    // Versión del contenido de las tablas de consulta: si la marca guardada es menor (primer arranque, cambio de
+    // particiones o un relleno que no terminó), el relleno se vuelve a ejecutar
+    private static final int VERSION_TABLAS = 2;
+    private static final String TABLA_ESTADO = "tablas_consulta_estado";
+
+    private record TablaConsulta(String nombre, List<String> columnasClustering, String ordenClustering,
+                                 Function<Profesor, Set<String>> claves) {
+
+        List<Object> valoresClustering(Profesor profesor) {
+            return columnasClustering.isEmpty() ? List.of() : List.of(profesor.getAnosExperiencia());
+        }
+    }
+
+    private static final List<TablaConsulta> TABLAS = List.of(
+            new TablaConsulta("profesores_by_especialidad", List.of(), null, unaClave(Profesor::getEspecialidad)),
+            new TablaConsulta("profesores_by_correo", List.of(), null, unaClave(Profesor::getCorreo)),
+            new TablaConsulta("profesores_by_grado", List.of(), null, unaClave(Profesor::getGradoAcademico)),
+            new TablaConsulta("profesores_by_activo", List.of(), null, unaClave(ProfesorTablasConsulta::claveActivo)),
+            new TablaConsulta("profesores_by_nombre", List.of(), null, unaClave(p -> normalizarNombre(p.getNombre()))),
+            new TablaConsulta("profesores_by_experiencia", List.of("anos_experiencia"), "anos_experiencia DESC, id ASC",
+                    unaClave(p -> p.getAnosExperiencia() != null ? claveExperiencia(p.getAnosExperiencia()) : null)),
+            new TablaConsulta("profesores_by_curso", List.of(), null, ProfesorTablasConsulta::clavesCurso)
+    );
+
+    private final CqlSession session;
+    private final CassandraOperations cassandraOperations;
+
+    private PreparedStatement insertarPrincipal;
+    private PreparedStatement eliminarPrincipal;
+    private PreparedStatement seleccionarPorId;
+    private final Map<String, PreparedStatement> inserciones = new HashMap<>();
+    private final Map<String, PreparedStatement> eliminaciones = new HashMap<>();
+
+    @PostConstruct
+    void inicializar() {
+        for (TablaConsulta tabla : TABLAS) {
+            crearTablaSiNoExiste(tabla);
+        }
+        session.execute("CREATE TABLE IF NOT EXISTS " + TABLA_ESTADO + " (nombre text PRIMARY KEY, version int)");
+
+        insertarPrincipal = session.prepare("INSERT INTO profesores (" + COLUMNAS + ") VALUES (" + MARCADORES + ")");
+        eliminarPrincipal = session.prepare("DELETE FROM profesores WHERE id = ?");
+        seleccionarPorId = session.prepare("SELECT " + COLUMNAS + " FROM profesores WHERE id = ?");
+        for (TablaConsulta tabla : TABLAS) {
+            inserciones.put(tabla.nombre(), session.prepare(
+                    "INSERT INTO " + tabla.nombre() + " (clave, " + COLUMNAS + ") VALUES (?, " + MARCADORES + ")"));
+            StringBuilder condicion = new StringBuilder("clave = ?");
+            tabla.columnasClustering().forEach(columna -> condicion.append(" AND ").append(columna).append(" = ?"));
+            eliminaciones.put(tabla.nombre(), session.prepare(
+                    "DELETE FROM " + tabla.nombre() + " WHERE " + condicion + " AND id = ?"));
+        }
+
+        Row estado = session.execute("SELECT version FROM " + TABLA_ESTADO + " WHERE nombre = 'profesores'").one();
+        if (estado == null || estado.getInt("version") < VERSION_TABLAS) {
+            rellenar();
+        }
+    }
+
+    // Llena las tablas de consulta a partir de la tabla principal. Es idempotente (solo sobrescribe filas), así
+    // que si el nodo cae a la mitad o dos nodos arrancan a la vez basta con repetirlo: la marca se guarda al final
+    private void rellenar() {
+        // Particiones de la versión 1, anteriores al reparto de activo y experiencia
+        session.execute("DELETE FROM profesores_by_experiencia WHERE clave = 'todos'");
+        session.execute("DELETE FROM profesores_by_activo WHERE clave IN ('true', 'false')");
+        try (Stream<Profesor> profesores = cassandraOperations.stream(Query.empty(), Profesor.class)) {
+            profesores.forEach(profesor -> session.execute(lote(DefaultBatchType.LOGGED, null, profesor, false)));
+        }
+        session.execute("INSERT INTO " + TABLA_ESTADO + " (nombre, version) VALUES ('profesores', ?)",
+                VERSION_TABLAS);
+    }
+
+    // Particiones de profesores_by_activo que contienen a los profesores con ese valor
+    public static List<String> particionesActivo(boolean activo) {
+        List<String> claves = new ArrayList<>(PARTICIONES_ACTIVO);
+        for (int i = 0; i < PARTICIONES_ACTIVO; i++) {
+            claves.add(activo + ":" + i);
+        }
+        return claves;
+    }
+
+    // Particiones de profesores_by_experiencia con profesores de al menos esa experiencia, de mayor a menor
+    public static List<String> particionesExperiencia(int anosMinimos) {
+        int desde = Math.min(Math.max(anosMinimos, 0), EXPERIENCIA_TOPE);
+        List<String> claves = new ArrayList<>(EXPERIENCIA_TOPE - desde + 1);
+        for (int anos = EXPERIENCIA_TOPE; anos >= desde; anos--) {
+            claves.add(String.valueOf(anos));
+        }
+        return claves;
+    }
+
+    // Guarda el profesor en la tabla principal y en todas las tablas de consulta.
+    // "anterior" es el estado previo (null al crear) y sirve para borrar las entradas cuya clave cambió.
+    public Profesor guardar(Profesor anterior, Profesor profesor) {
+        session.execute(lote(DefaultBatchType.LOGGED, anterior, profesor, true));
+        return profesor;
+    }
+
+    // Importación masiva de profesores nuevos: un batch UNLOGGED por profesor (su fila y sus entradas en
+    // las tablas de consulta), enviados en paralelo. Como en buscarPorIds, nunca hay más de "maximoEnVuelo"
+    // escrituras pendientes, así un lote grande no llena la cola de peticiones de cada conexión del driver.
+    // Cada futuro indica si ese profesor quedó guardado.
+    public List<CompletableFuture<Void>> guardarLoteAsync(List<Profesor> profesores, int maximoEnVuelo) {
+        Semaphore enVuelo = new Semaphore(maximoEnVuelo);
+        List<CompletableFuture<Void>> resultados = new ArrayList<>(profesores.size());
+        for (Profesor profesor : profesores) {
+            enVuelo.acquireUninterruptibly();
+            CompletableFuture<Void> escritura;
+            try {
+                escritura = session.executeAsync(lote(DefaultBatchType.UNLOGGED, null, profesor, true))
+                        .toCompletableFuture()
+                        .thenApply(resultado -> null);
+            } catch (RuntimeException e) {
+                escritura = CompletableFuture.failedFuture(e);
+            }
+            escritura.whenComplete((resultado, error) -> enVuelo.release());
+            resultados.add(escritura);
+        }
+        return resultados;
+    }
+
+    // Lee varios profesores por ID con una lectura asíncrona por partición. Las sentencias preparadas llevan la
+    // clave de partición, así el driver envía cada una directo a una réplica dueña del token. Nunca hay más de
+    // "maximoEnVuelo" lecturas pendientes; el resultado sigue el orden de los IDs y omite los que no existen.
+    public List<Profesor> buscarPorIds(List<UUID> ids, int maximoEnVuelo) {
+        Semaphore enVuelo = new Semaphore(maximoEnVuelo);
+        List<CompletableFuture<Profesor>> lecturas = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            enVuelo.acquireUninterruptibly();
+            CompletableFuture<Profesor> lectura = session.executeAsync(seleccionarPorId.bind(id))
+                    .toCompletableFuture()
+                    .thenApply(resultado -> {
+                        Row fila = resultado.one();
+                        return fila != null ? cassandraOperations.getConverter().read(Profesor.class, fila) : null;
+                    });
+            lectura.whenComplete((profesor, error) -> enVuelo.release());
+            lecturas.add(lectura);
+        }
+
+        List<Profesor> profesores = new ArrayList<>(ids.size());
+        for (CompletableFuture<Profesor> lectura : lecturas) {
+            Profesor profesor = lectura.join();
+            if (profesor != null) {
+                profesores.add(profesor);
+            }
+        }
+        return profesores;
+    }
+
+    public void eliminar(Profesor profesor) {
+        BatchStatementBuilder lote = BatchStatement.builder(DefaultBatchType.LOGGED);
+        lote.addStatement(eliminarPrincipal.bind(profesor.getId()));
+        for (TablaConsulta tabla : TABLAS) {
+            agregarEliminacion(lote, tabla, profesor);
+        }
+        session.execute(lote.build());
+    }
+
+    public static String normalizarNombre(String nombre) {
+        if (nombre == null) {
+            return null;
+        }
+        String sinTildes = Normalizer.normalize(nombre.trim(), Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return sinTildes.toLowerCase(Locale.ROOT);
+    }
+
+    private BatchStatement lote(DefaultBatchType tipo, Profesor anterior, Profesor profesor, boolean incluirPrincipal) {
+        BatchStatementBuilder lote = BatchStatement.builder(tipo);
+        if (incluirPrincipal) {
+            lote.addStatement(insertarPrincipal.bind(valores(profesor).toArray()));
+        }
+        for (TablaConsulta tabla : TABLAS) {
+            Set<String> claves = tabla.claves().apply(profesor);
+            if (anterior != null) {
+                // Solo se borran las entradas que ya no corresponden (p. ej. los cursos quitados); las demás se
+                // sobrescriben. Si cambió la columna de clustering la fila es otra y se borran todas.
+                boolean mismaFila =
+                        Objects.equals(tabla.valoresClustering(anterior), tabla.valoresClustering(profesor));
+                for (String claveAnterior : tabla.claves().apply(anterior)) {
+                    if (!mismaFila || !claves.contains(claveAnterior)) {
+                        agregarEliminacion(lote, tabla, anterior, claveAnterior);
+                    }
+                }
+            }
+            for (String clave : claves) {
+                List<Object> valores = new ArrayList<>();
+                valores.add(clave);
+                valores.addAll(valores(profesor));
+                lote.addStatement(inserciones.get(tabla.nombre()).bind(valores.toArray()));
+            }
+        }
+        return lote.build();
+    }
+
+    private void agregarEliminacion(BatchStatementBuilder lote, TablaConsulta tabla, Profesor profesor) {
+        for (String clave : tabla.claves().apply(profesor)) {
+            agregarEliminacion(lote, tabla, profesor, clave);
+        }
+    }
+
+    private void agregarEliminacion(BatchStatementBuilder lote, TablaConsulta tabla, Profesor profesor, String clave) {
+        List<Object> valores = new ArrayList<>();
+        valores.add(clave);
+        valores.addAll(tabla.valoresClustering(profesor));
+        valores.add(profesor.getId());
+        lote.addStatement(eliminaciones.get(tabla.nombre()).bind(valores.toArray()));
+    }
+
+    private static Function<Profesor, Set<String>> unaClave(Function<Profesor, String> clave) {
+        return profesor -> {
+            String valor = clave.apply(profesor);
+            return valor != null ? Set.of(valor) : Set.of();
+        };
+    }
+
+    private static String claveActivo(Profesor profesor) {
+        if (profesor.getActivo() == null) {
+            return null;
+        }
+        return profesor.getActivo() + ":" + Math.floorMod(profesor.getId().hashCode(), PARTICIONES_ACTIVO);
+    }
+
+    // Los valores negativos caen en la partición 0; el filtro por rango sobre la columna de clustering los separa
+    private static String claveExperiencia(int anos) {
+        return String.valueOf(Math.min(Math.max(anos, 0), EXPERIENCIA_TOPE));
+    }
+
+    // La clave de la tabla es text: el ID del curso (MySQL) se guarda como texto
+    private static Set<String> clavesCurso(Profesor profesor) {
+        if (profesor.getCursoIds() == null) {
+            return Set.of();
+        }
+        Set<String> claves = new HashSet<>();
+        profesor.getCursoIds().forEach(cursoId -> {
+            if (cursoId != null) {
+                claves.add(String.valueOf(cursoId));
+            }
+        });
+        return claves;
+    }
+
+    private static List<Object> valores(Profesor profesor) {
+        return Arrays.asList(profesor.getId(), profesor.getNombre(), profesor.getApellido(),
+                profesor.getCorreo(), profesor.getEspecialidad(), profesor.getTelefono(), profesor.getGradoAcademico(),
+                profesor.getAnosExperiencia(), profesor.getActivo(), profesor.getCursoIds());
+    }
+
+    private void crearTablaSiNoExiste(TablaConsulta tabla) {
+        boolean existia = session.getMetadata().getKeyspace(session.getKeyspace().orElseThrow())
+                .flatMap(keyspace -> keyspace.getTable(tabla.nombre()))
+                .isPresent();
+        if (existia) {
+            return;
+        }
+        StringBuilder clavePrimaria = new StringBuilder("(clave)");
+        tabla.columnasClustering().forEach(columna -> clavePrimaria.append(", ").append(columna));
+        clavePrimaria.append(", id");
+        String ddl = "CREATE TABLE IF NOT EXISTS " + tabla.nombre() + " (clave text, " + COLUMNAS_DDL
+                + ", PRIMARY KEY (" + clavePrimaria + "))";
+        if (tabla.ordenClustering() != null) {
+            ddl += " WITH CLUSTERING ORDER BY (" + tabla.ordenClustering() + ")";
+        }
+        session.execute(ddl);
+    }
+}
@@ -0,0 +1,27 @@
+package pe.edu.utp.gestionacademicautp.repository.mongo;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import pe.edu.utp.gestionacademicautp.dto.ProyectoInvestigacionDTO;
+import pe.edu.utp.gestionacademicautp.model.mongo.ProyectoInvestigacion;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Acceso no bloqueante a los proyectos (driver reactivo de MongoDB) para la API /api/v2.
+// Las consultas proyectan directamente al DTO: mismos campos que el documento, sin conversión intermedia.
+@Repository
+public interface ProyectoInvestigacionReactiveRepository
+        extends ReactiveMongoRepository<ProyectoInvestigacion, String> {
+
+    // Toda la colección ordenada por _id; el cursor del driver avanza según la demanda del suscriptor
+    Flux<ProyectoInvestigacionDTO> findAllByOrderByIdAsc();
+
+    // Primera página ordenada por _id
+    Flux<ProyectoInvestigacionDTO> findAllByOrderByIdAsc(Limit limit);
+
+    // Página de proyectos a continuación del cursor (paginación por _id)
+    Flux<ProyectoInvestigacionDTO> findByIdGreaterThanOrderByIdAsc(String id, Limit limit);
+
+    Mono<ProyectoInvestigacionDTO> findDtoById(String id);
+}
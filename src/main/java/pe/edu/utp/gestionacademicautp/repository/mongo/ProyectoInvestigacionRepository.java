@@ -1,9 +1,19 @@
 package pe.edu.utp.gestionacademicautp.repository.mongo;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 import pe.edu.utp.gestionacademicautp.model.mongo.ProyectoInvestigacion;
 
+import java.util.List;
+
 @Repository
-public interface ProyectoInvestigacionRepository extends MongoRepository<ProyectoInvestigacion, String> {
+public interface ProyectoInvestigacionRepository extends MongoRepository<ProyectoInvestigacion, String>,
+        ProyectoInvestigacionRepositoryCustom {
+
+    // Primera página ordenada por _id
+    List<ProyectoInvestigacion> findAllByOrderByIdAsc(Limit limit);
+
+    // Página de proyectos a continuación del cursor (paginación por _id)
+    List<ProyectoInvestigacion> findByIdGreaterThanOrderByIdAsc(String id, Limit limit);
 }
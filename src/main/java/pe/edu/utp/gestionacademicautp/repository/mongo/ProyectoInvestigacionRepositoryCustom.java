@@ -0,0 +1,16 @@
+package pe.edu.utp.gestionacademicautp.repository.mongo;
+
+import pe.edu.utp.gestionacademicautp.model.mongo.ProyectoInvestigacion;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+public interface ProyectoInvestigacionRepositoryCustom {
+
+    // Busca varios proyectos en un solo viaje ($in) con los campos del DTO, respetando el orden de los IDs
+    List<ProyectoInvestigacion> findResumenesByIds(Collection<String> ids);
+
+    // Igual, pero el servidor aborta la consulta (maxTimeMS) si tarda más que tiempoMaximo
+    List<ProyectoInvestigacion> findResumenesByIds(Collection<String> ids, Duration tiempoMaximo);
+}
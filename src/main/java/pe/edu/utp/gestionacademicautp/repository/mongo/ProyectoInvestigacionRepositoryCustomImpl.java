@@ -0,0 +1,53 @@
+package pe.edu.utp.gestionacademicautp.repository.mongo;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import pe.edu.utp.gestionacademicautp.model.mongo.ProyectoInvestigacion;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+public class ProyectoInvestigacionRepositoryCustomImpl implements ProyectoInvestigacionRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<ProyectoInvestigacion> findResumenesByIds(Collection<String> ids) {
+        return findResumenesByIds(ids, null);
+    }
+
+    @Override
+    public List<ProyectoInvestigacion> findResumenesByIds(Collection<String> ids, Duration tiempoMaximo) {
+        LinkedHashSet<String> idsUnicos = new LinkedHashSet<>(ids);
+        if (idsUnicos.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // Un único find con $in; la proyección limita el documento a lo que usa ProyectoInvestigacionDTO
+        Query query = Query.query(Criteria.where("id").in(idsUnicos));
+        query.fields().include("titulo", "resumen", "fechaInicio", "fechaFin");
+        if (tiempoMaximo != null) {
+            query.maxTime(tiempoMaximo);
+        }
+        Map<String, ProyectoInvestigacion> porId = mongoTemplate.find(query, ProyectoInvestigacion.class).stream()
+                .collect(Collectors.toMap(ProyectoInvestigacion::getId, Function.identity()));
+
+        List<ProyectoInvestigacion> ordenados = new ArrayList<>(porId.size());
+        for (String id : idsUnicos) {
+            ProyectoInvestigacion proyecto = porId.get(id);
+            if (proyecto != null) {
+                ordenados.add(proyecto);
+            }
+        }
+        return ordenados;
+    }
+}
@@ -1,7 +1,13 @@
 package pe.edu.utp.gestionacademicautp.repository.mysql;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import pe.edu.utp.gestionacademicautp.model.mysql.Curso;
 
+import java.util.List;
+
 public interface CursoRepository extends JpaRepository<Curso, Integer> {
+
+    // Página de cursos a continuación del cursor (paginación por clave)
+    List<Curso> findByIdGreaterThanOrderByIdAsc(Integer id, Limit limit);
 }
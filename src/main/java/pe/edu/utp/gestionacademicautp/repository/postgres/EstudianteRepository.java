@@ -1,7 +1,13 @@
 package pe.edu.utp.gestionacademicautp.repository.postgres;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import pe.edu.utp.gestionacademicautp.model.postgres.Estudiante;
 
+import java.util.List;
+
 public interface EstudianteRepository extends JpaRepository<Estudiante, Integer> {
+
+    // Página de estudiantes a continuación del cursor (paginación por clave)
+    List<Estudiante> findByIdGreaterThanOrderByIdAsc(Integer id, Limit limit);
 }
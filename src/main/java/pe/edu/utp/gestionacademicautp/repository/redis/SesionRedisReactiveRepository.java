@@ -0,0 +1,20 @@
+package pe.edu.utp.gestionacademicautp.repository.redis;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+// Lectura no bloqueante de las sesiones que escribe SesionRedisRepository (mismo hash y mismos campos)
+@Repository
+@RequiredArgsConstructor
+public class SesionRedisReactiveRepository {
+
+    private final ReactiveStringRedisTemplate reactiveStringRedisTemplate;
+
+    // Vacío si la sesión no existe o expiró
+    public Mono<String> obtenerUsuario(String sessionId) {
+        return reactiveStringRedisTemplate.<String, String>opsForHash()
+                .get(SesionRedisRepository.PREFIJO + sessionId, SesionRedisRepository.CAMPO_USUARIO);
+    }
+}
@@ -0,0 +1,50 @@
+package pe.edu.utp.gestionacademicautp.repository.redis;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+// Sesiones de login en Redis: un hash por sesión con campos de una letra y valores en texto plano
+// (sin serialización JDK/JSON). Cada operación es un único comando, así que cuesta un solo viaje.
+@Repository
+@RequiredArgsConstructor
+public class SesionRedisRepository {
+
+    static final String PREFIJO = "sesion:";
+    static final String CAMPO_USUARIO = "u";
+    static final String CAMPO_ROL = "r";
+    static final String CAMPO_INICIO = "t";
+
+    // HSET + EXPIRE atómicos: la sesión nunca queda guardada sin expiración
+    private static final RedisScript<Long> GUARDAR = new DefaultRedisScript<>(
+            "redis.call('HSET', KEYS[1], unpack(ARGV, 2)) redis.call('EXPIRE', KEYS[1], ARGV[1]) return 1",
+            Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    public void guardar(String sessionId, String username, String rol, Duration duracion) {
+        stringRedisTemplate.execute(GUARDAR, List.of(PREFIJO + sessionId), String.valueOf(duracion.toSeconds()),
+                CAMPO_USUARIO, username,
+                CAMPO_ROL, rol != null ? rol : "",
+                CAMPO_INICIO, String.valueOf(Instant.now().getEpochSecond()));
+    }
+
+    public String obtenerUsuario(String sessionId) {
+        return (String) stringRedisTemplate.opsForHash().get(PREFIJO + sessionId, CAMPO_USUARIO);
+    }
+
+    // EXPIRE devuelve false si la sesión ya no existe: no hace falta un EXISTS previo
+    public boolean renovar(String sessionId, Duration duracion) {
+        return Boolean.TRUE.equals(stringRedisTemplate.expire(PREFIJO + sessionId, duracion));
+    }
+
+    public boolean eliminar(String sessionId) {
+        return Boolean.TRUE.equals(stringRedisTemplate.delete(PREFIJO + sessionId));
+    }
+}
@@ -1,70 +1,99 @@
 package pe.edu.utp.gestionacademicautp.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import pe.edu.utp.gestionacademicautp.model.User;
+import pe.edu.utp.gestionacademicautp.repository.redis.SesionRedisReactiveRepository;
+import pe.edu.utp.gestionacademicautp.repository.redis.SesionRedisRepository;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class AuthService {
     
-    @Autowired
-    private RedisTemplate<String, Object> redisTemplate;
+    // Duración de la sesión (la cookie usa el mismo valor)
+    private static final Duration DURACION_SESION = Duration.ofHours(24);
     
-    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    @Autowired
+    private SesionRedisRepository sesionRepository;
+
+    @Autowired
+    private SesionRedisReactiveRepository sesionReactiveRepository;
+
+    @Autowired
+    private CacheSesiones cacheSesiones;
     
-    // Simulamos una base de datos de usuarios (en producción esto estaría en una base de datos real)
-    private final Map<String, User> users = new HashMap<>();
+    @Autowired
+    private DirectorioUsuarios directorioUsuarios;
     
-    public AuthService() {
-        initializeDefaultUsers();
-    }
+    @Autowired
+    private VerificadorPasswords verificadorPasswords;
     
-    private void initializeDefaultUsers() {
-        // Crear usuarios por defecto
-        User admin = new User("admin", passwordEncoder.encode("admin123"), "admin@utp.edu.pe", "Administrador", "Sistema", "ADMIN");
-        User user = new User("usuario", passwordEncoder.encode("user123"), "usuario@utp.edu.pe", "Usuario", "Demo", "USER");
-        User professor = new User("profesor", passwordEncoder.encode("prof123"), "profesor@utp.edu.pe", "Profesor", "Demo", "PROFESSOR");
-        
-        users.put("admin", admin);
-        users.put("usuario", user);
-        users.put("profesor", professor);
-    }
+    @Autowired
+    private LimitadorIntentosLogin limitadorIntentos;
     
-    public String login(String username, String password) {
-        User user = users.get(username);
-        
-        if (user == null || !user.isActive()) {
-            return null; // Usuario no existe o está inactivo
-        }
+    // Devuelve el ID de sesión, o null si las credenciales no son válidas. La verificación BCrypt corre en
+    // el pool acotado de VerificadorPasswords y el resto en su pool de continuaciones; lanza
+    // IntentosExcedidosException o ServicioSaturadoException
+    public CompletableFuture<String> login(String username, String password, String ip) {
+        // El intento queda contado como fallido desde aquí; solo un login correcto o un error lo devuelven
+        limitadorIntentos.reservar(username, ip);
         
-        if (!passwordEncoder.matches(password, user.getPassword())) {
-            return null; // Contraseña incorrecta
+        User user;
+        CompletableFuture<Boolean> verificacion;
+        try {
+            user = directorioUsuarios.buscar(username).orElse(null);
+            if (user == null || !user.isActive() || password == null) {
+                return CompletableFuture.completedFuture(null); // Usuario no existe o está inactivo
+            }
+            verificacion = verificadorPasswords.verificar(password, user.getPassword());
+        } catch (RuntimeException e) {
+            limitadorIntentos.liberar(username, ip);
+            throw e;
         }
         
+        return verificacion.thenApplyAsync(valida -> {
+            if (!valida) {
+                return null; // Contraseña incorrecta
+            }
+            
+            // Cambió el costo de BCrypt: se regenera el hash ahora que se conoce la contraseña
+            if (verificadorPasswords.requiereRehash(user.getPassword())) {
+                verificadorPasswords.regenerarHash(password, hash -> {
+                    try {
+                        directorioUsuarios.actualizarPassword(username, hash);
+                    } catch (Exception e) {
+                        // Se reintentará en el próximo login; no impide iniciar sesión
+                        System.err.println("Error regenerando el hash de " + username + ": " + e.getMessage());
+                    }
+                });
+            }
+            String sessionId = crearSesion(user);
+            limitadorIntentos.registrarExito(username, ip);
+            return sessionId;
+        }, verificadorPasswords.continuaciones()).whenCompleteAsync((sessionId, error) -> {
+            if (error != null) {
+                limitadorIntentos.liberar(username, ip);
+            }
+        }, verificadorPasswords.continuaciones());
+    }
+    
+    private String crearSesion(User user) {
         // Generar ID de sesión único
         String sessionId = UUID.randomUUID().toString();
         
-        // Actualizar último login
-        user.setLastLogin(LocalDateTime.now());
+        // Actualizar último login (se persiste en segundo plano)
+        directorioUsuarios.registrarUltimoLogin(user.getUsername(), LocalDateTime.now());
         
         // Guardar sesión en Redis (expira en 24 horas)
-        Map<String, Object> sessionData = new HashMap<>();
-        sessionData.put("username", user.getUsername());
-        sessionData.put("fullName", user.getFullName());
-        sessionData.put("email", user.getEmail());
-        sessionData.put("role", user.getRole());
-        sessionData.put("loginTime", LocalDateTime.now().toString());
-        
-        redisTemplate.opsForHash().putAll("session:" + sessionId, sessionData);
-        redisTemplate.expire("session:" + sessionId, 24, TimeUnit.HOURS);
+        sesionRepository.guardar(sessionId, user.getUsername(), user.getRole(), DURACION_SESION);
         
         return sessionId;
     }
@@ -74,14 +103,32 @@ public class AuthService {
             return null;
         }
         
-        Map<Object, Object> sessionData = redisTemplate.opsForHash().entries("session:" + sessionId);
-        
-        if (sessionData.isEmpty()) {
-            return null; // Sesión no existe o expiró
+        String username = cacheSesiones.obtenerUsuario(sessionId);
+        if (username == null) {
+            // Solo se lee el campo necesario, no el hash completo de la sesión
+            username = sesionRepository.obtenerUsuario(sessionId);
+            if (username == null) {
+                return null; // Sesión no existe o expiró
+            }
+            cacheSesiones.guardar(sessionId, username);
         }
-        
-        String username = (String) sessionData.get("username");
-        return users.get(username);
+        return directorioUsuarios.buscar(username).orElse(null);
+    }
+    
+    // Variante no bloqueante (API /api/v2): Redis se consulta con el driver reactivo y solo la búsqueda en el
+    // directorio, que puede ir a PostgreSQL si el usuario no está en memoria, pasa a un hilo donde puede bloquear
+    public Mono<User> validateSessionReactive(String sessionId) {
+        if (sessionId == null || sessionId.isEmpty()) {
+            return Mono.empty();
+        }
+
+        String enCache = cacheSesiones.obtenerUsuario(sessionId);
+        Mono<String> username = enCache != null
+                ? Mono.just(enCache)
+                : sesionReactiveRepository.obtenerUsuario(sessionId)
+                        .doOnNext(usuario -> cacheSesiones.guardar(sessionId, usuario));
+        return username.flatMap(usuario -> Mono.fromCallable(() -> directorioUsuarios.buscar(usuario).orElse(null))
+                .subscribeOn(Schedulers.boundedElastic()));
     }
     
     public boolean logout(String sessionId) {
@@ -89,16 +136,20 @@ public class AuthService {
             return false;
         }
         
-        return Boolean.TRUE.equals(redisTemplate.delete("session:" + sessionId));
+        boolean eliminada = sesionRepository.eliminar(sessionId);
+        cacheSesiones.invalidar(sessionId);
+        return eliminada;
     }
     
     public User getUserByUsername(String username) {
-        return users.get(username);
+        return directorioUsuarios.buscar(username).orElse(null);
     }
     
     // Método para obtener todos los usuarios (para administración)
     public Map<String, User> getAllUsers() {
-        return new HashMap<>(users);
+        Map<String, User> users = new HashMap<>();
+        directorioUsuarios.todos().forEach(user -> users.put(user.getUsername(), user));
+        return users;
     }
     
     // Renovar sesión (extender tiempo de expiración)
@@ -107,11 +158,8 @@ public class AuthService {
             return false;
         }
         
-        if (Boolean.TRUE.equals(redisTemplate.hasKey("session:" + sessionId))) {
-            redisTemplate.expire("session:" + sessionId, 24, TimeUnit.HOURS);
-            return true;
-        }
-        
-        return false;
+        // Solo cambia el TTL en Redis: el usuario de la sesión es el mismo, así que la entrada local de cada
+        // nodo sigue siendo válida y no hace falta avisarles
+        return sesionRepository.renovar(sessionId, DURACION_SESION);
     }
 }
@@ -0,0 +1,261 @@
+package pe.edu.utp.gestionacademicautp.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.cassandra.core.CassandraOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import pe.edu.utp.gestionacademicautp.dto.PaginaDTO;
+import pe.edu.utp.gestionacademicautp.dto.ResultadoBusquedaDTO;
+import pe.edu.utp.gestionacademicautp.model.cassandra.Profesor;
+import pe.edu.utp.gestionacademicautp.model.mongo.ProyectoInvestigacion;
+import pe.edu.utp.gestionacademicautp.model.postgres.Estudiante;
+import pe.edu.utp.gestionacademicautp.service.IndiceInvertido.Documento;
+import pe.edu.utp.gestionacademicautp.service.IndiceInvertido.DocumentoIndexable;
+import pe.edu.utp.gestionacademicautp.service.IndiceInvertido.Resultado;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Búsqueda de estudiantes, profesores y proyectos sobre un índice invertido en memoria.
+// Los servicios lo actualizan al confirmar cada escritura; además cada tipo se reconstruye desde su almacén
+// al arrancar, tras una importación masiva y periódicamente (para recoger lo escrito por otros nodos).
+@Service
+@RequiredArgsConstructor
+public class BusquedaService {
+
+    public enum Tipo {
+        ESTUDIANTES("estudiante:"), PROFESORES("profesor:"), PROYECTOS("proyecto:");
+
+        private final String prefijo;
+
+        Tipo(String prefijo) {
+            this.prefijo = prefijo;
+        }
+
+        public static Tipo desde(String nombre) {
+            try {
+                return valueOf(nombre.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Tipo de búsqueda inválido: " + nombre);
+            }
+        }
+
+        String clave(Object id) {
+            return prefijo + id;
+        }
+
+        boolean contiene(String clave) {
+            return clave.startsWith(prefijo);
+        }
+
+        String id(String clave) {
+            return clave.substring(prefijo.length());
+        }
+
+        String nombre() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    // Resultados ordenados que se consideran para paginar; más allá conviene afinar la consulta
+    private static final int MAXIMO_RESULTADOS = 1000;
+    private static final int LARGO_CONSULTA_MAXIMO = 100;
+    private static final int LARGO_DETALLE = 160;
+
+    @Qualifier("postgresJdbcTemplate")
+    private final JdbcTemplate postgresJdbcTemplate;
+    private final CassandraOperations cassandraOperations;
+    private final MongoTemplate mongoTemplate;
+
+    private final IndiceInvertido indice = new IndiceInvertido();
+
+    // Todos los tipos empiezan pendientes: la primera revisión construye el índice completo
+    private final Map<Tipo, AtomicBoolean> pendientes = new EnumMap<>(Map.of(
+            Tipo.ESTUDIANTES, new AtomicBoolean(true),
+            Tipo.PROFESORES, new AtomicBoolean(true),
+            Tipo.PROYECTOS, new AtomicBoolean(true)));
+    private final Map<Tipo, Long> ultimasReconstrucciones = new EnumMap<>(Tipo.class);
+
+    // Las reconstrucciones leen un almacén completo: corren en su propio hilo, una a la vez, para no ocupar
+    // el planificador compartido con las demás tareas programadas
+    private final ExecutorService reconstructor = Executors.newSingleThreadExecutor(
+            new CustomizableThreadFactory("busqueda-"));
+    private final AtomicBoolean reconstruccionEnCurso = new AtomicBoolean();
+
+    @Value("${app.busqueda.reconstruccion-ms:600000}")
+    private long intervaloReconstruccionMs;
+
+    public PaginaDTO<ResultadoBusquedaDTO> buscar(String consulta, Set<Tipo> tipos, String cursor, int tamano) {
+        if (consulta == null || consulta.isBlank() || consulta.length() > LARGO_CONSULTA_MAXIMO) {
+            throw new IllegalArgumentException(
+                    "La consulta debe tener entre 1 y " + LARGO_CONSULTA_MAXIMO + " caracteres");
+        }
+        Set<Tipo> filtrados = tipos == null || tipos.isEmpty() ? Set.of(Tipo.values()) : tipos;
+        int limite = CursorPaginacion.normalizarTamano(tamano);
+        int desde = cursor != null ? CursorPaginacion.decodificarEntero(cursor) : 0;
+
+        List<Resultado> resultados = indice.buscar(consulta,
+                clave -> filtrados.stream().anyMatch(tipo -> tipo.contiene(clave)), MAXIMO_RESULTADOS);
+        List<ResultadoBusquedaDTO> pagina = resultados.stream()
+                .skip(desde)
+                .limit(limite)
+                .map(BusquedaService::convertToDto)
+                .collect(Collectors.toList());
+        int siguiente = desde + limite;
+        return new PaginaDTO<>(pagina, siguiente < resultados.size() ? CursorPaginacion.codificar(siguiente) : null);
+    }
+
+    // Escrituras incrementales: se aplican solo si la transacción en curso se confirma
+
+    public void indexarEstudiante(Estudiante estudiante) {
+        DocumentoIndexable documento = documento(estudiante);
+        DespuesDelCommit.ejecutar(() -> indice.indexar(documento));
+    }
+
+    public void indexarProfesor(Profesor profesor) {
+        DocumentoIndexable documento = documento(profesor);
+        DespuesDelCommit.ejecutar(() -> indice.indexar(documento));
+    }
+
+    public void indexarProyecto(ProyectoInvestigacion proyecto) {
+        DocumentoIndexable documento = documento(proyecto);
+        DespuesDelCommit.ejecutar(() -> indice.indexar(documento));
+    }
+
+    public void eliminar(Tipo tipo, Object id) {
+        String clave = tipo.clave(id);
+        DespuesDelCommit.ejecutar(() -> indice.eliminar(clave));
+    }
+
+    // Para cargas masivas (importación): en lugar de indexar fila por fila, el tipo se relee en la próxima revisión
+    public void solicitarReconstruccion(Tipo tipo) {
+        pendientes.get(tipo).set(true);
+    }
+
+    @Scheduled(fixedDelayString = "${app.busqueda.revision-ms:10000}")
+    void revisar() {
+        // Si la revisión anterior sigue leyendo, esta se salta: la siguiente recoge lo que quede marcado
+        if (!reconstruccionEnCurso.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            reconstructor.execute(() -> {
+                try {
+                    reconstruirPendientes();
+                } finally {
+                    reconstruccionEnCurso.set(false);
+                }
+            });
+        } catch (Exception e) {
+            reconstruccionEnCurso.set(false);
+        }
+    }
+
+    @PreDestroy
+    void detener() {
+        reconstructor.shutdownNow();
+    }
+
+    void reconstruirPendientes() {
+        for (Tipo tipo : Tipo.values()) {
+            long ultima = ultimasReconstrucciones.getOrDefault(tipo, 0L);
+            boolean vencida = System.currentTimeMillis() - ultima >= intervaloReconstruccionMs;
+            // Se desmarca antes de leer: una importación que termine durante la lectura vuelve a marcarlo
+            if (pendientes.get(tipo).getAndSet(false) || vencida) {
+                reconstruir(tipo);
+            }
+        }
+    }
+
+    private void reconstruir(Tipo tipo) {
+        long marca = indice.marca();
+        try {
+            indice.reemplazarGrupo(tipo::contiene, leer(tipo), marca);
+            ultimasReconstrucciones.put(tipo, System.currentTimeMillis());
+        } catch (Exception e) {
+            pendientes.get(tipo).set(true);
+            System.err.println("Error reconstruyendo el índice de búsqueda de " + tipo.nombre() + ": "
+                    + e.getMessage());
+        }
+    }
+
+    private List<DocumentoIndexable> leer(Tipo tipo) {
+        List<DocumentoIndexable> documentos = new ArrayList<>();
+        switch (tipo) {
+            case ESTUDIANTES -> postgresJdbcTemplate.query("SELECT id, nombre, apellido, correo FROM estudiante",
+                    rs -> {
+                        documentos.add(documento(new Estudiante(rs.getInt("id"), rs.getString("nombre"),
+                                rs.getString("apellido"), rs.getString("correo"), null)));
+                    });
+            case PROFESORES -> {
+                try (Stream<Profesor> profesores =
+                             cassandraOperations.stream("SELECT * FROM profesores", Profesor.class)) {
+                    profesores.forEach(profesor -> documentos.add(documento(profesor)));
+                }
+            }
+            case PROYECTOS -> {
+                try (Stream<ProyectoInvestigacion> proyectos =
+                             mongoTemplate.stream(new Query(), ProyectoInvestigacion.class)) {
+                    proyectos.forEach(proyecto -> documentos.add(documento(proyecto)));
+                }
+            }
+        }
+        return documentos;
+    }
+
+    private static DocumentoIndexable documento(Estudiante estudiante) {
+        String nombreCompleto = unir(estudiante.getNombre(), estudiante.getApellido());
+        return new DocumentoIndexable(
+                new Documento(Tipo.ESTUDIANTES.clave(estudiante.getId()), nombreCompleto, estudiante.getCorreo()),
+                nombreCompleto, estudiante.getCorreo());
+    }
+
+    private static DocumentoIndexable documento(Profesor profesor) {
+        String nombreCompleto = unir(profesor.getNombre(), profesor.getApellido());
+        return new DocumentoIndexable(
+                new Documento(Tipo.PROFESORES.clave(profesor.getId()), nombreCompleto, profesor.getEspecialidad()),
+                nombreCompleto, unir(profesor.getEspecialidad(), profesor.getCorreo()));
+    }
+
+    private static DocumentoIndexable documento(ProyectoInvestigacion proyecto) {
+        String resumen = proyecto.getResumen();
+        String detalle = resumen != null && resumen.length() > LARGO_DETALLE
+                ? resumen.substring(0, LARGO_DETALLE) + "…" : resumen;
+        return new DocumentoIndexable(
+                new Documento(Tipo.PROYECTOS.clave(proyecto.getId()), proyecto.getTitulo(), detalle),
+                proyecto.getTitulo(), resumen);
+    }
+
+    private static ResultadoBusquedaDTO convertToDto(Resultado resultado) {
+        Documento documento = resultado.documento();
+        Tipo tipo = Stream.of(Tipo.values())
+                .filter(t -> t.contiene(documento.clave()))
+                .findFirst()
+                .orElseThrow();
+        return new ResultadoBusquedaDTO(tipo.nombre(), tipo.id(documento.clave()), documento.titulo(),
+                documento.detalle(), resultado.puntaje());
+    }
+
+    private static String unir(String primero, String segundo) {
+        if (primero == null) {
+            return segundo != null ? segundo : "";
+        }
+        return segundo != null ? primero + " " + segundo : primero;
+    }
+}
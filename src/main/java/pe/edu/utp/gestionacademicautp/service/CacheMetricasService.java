@@ -0,0 +1,43 @@
+package pe.edu.utp.gestionacademicautp.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import pe.edu.utp.gestionacademicautp.config.CacheDosNiveles;
+import pe.edu.utp.gestionacademicautp.config.CacheDosNivelesManager;
+import pe.edu.utp.gestionacademicautp.dto.MetricasCacheDTO;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Aciertos (local / Redis) y fallos acumulados por región de la cache de dos niveles en este nodo
+@Service
+@RequiredArgsConstructor
+public class CacheMetricasService {
+
+    private final CacheDosNivelesManager cacheManager;
+
+    public List<MetricasCacheDTO> getMetricas() {
+        return cacheManager.getRegiones().stream()
+                .sorted(Comparator.comparing(CacheDosNiveles::getName))
+                .map(this::metricas)
+                .collect(Collectors.toList());
+    }
+
+    private MetricasCacheDTO metricas(CacheDosNiveles cache) {
+        MetricasCacheDTO dto = new MetricasCacheDTO();
+        dto.setRegion(cache.getName());
+        dto.setTtlSegundos(cache.getRegion().getTtlSegundos());
+        dto.setTtlLocalSegundos(cache.getRegion().getTtlLocalSegundos());
+        dto.setMaximoLocal(cache.getRegion().getMaximoLocal());
+        dto.setEntradasLocales(cache.getEntradasLocales());
+        dto.setAciertosLocales(cache.getAciertosLocales());
+        dto.setAciertosRedis(cache.getAciertosRedis());
+        dto.setFallos(cache.getFallos());
+        long lecturas = cache.getAciertosLocales() + cache.getAciertosRedis() + cache.getFallos();
+        dto.setTasaAciertos(lecturas > 0 ? (double) (lecturas - cache.getFallos()) / lecturas : 0);
+        dto.setDesalojosLocales(cache.getDesalojosLocales());
+        dto.setErroresRedis(cache.getErroresRedis());
+        return dto;
+    }
+}
@@ -0,0 +1,69 @@
+package pe.edu.utp.gestionacademicautp.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+// Cache local (por nodo) de sesiones ya validadas: sessionId -> username.
+// El TTL corto acota cuánto puede sobrevivir una sesión que expiró en Redis; el logout se propaga a
+// todos los nodos por pub/sub para que ninguno siga usando una entrada obsoleta.
+@Component
+public class CacheSesiones implements MessageListener {
+
+    static final String CANAL_INVALIDACION = "sesiones:invalidadas";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final Cache<String, String> sesiones;
+
+    public CacheSesiones(StringRedisTemplate stringRedisTemplate,
+                         RedisMessageListenerContainer listenerContainer,
+                         @Value("${app.sesion.cache.ttl-segundos:30}") long ttlSegundos,
+                         @Value("${app.sesion.cache.maximo:10000}") long maximo) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.sesiones = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSegundos))
+                .maximumSize(maximo)
+                .build();
+    }
+
+    @PostConstruct
+    void suscribir() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CANAL_INVALIDACION));
+    }
+
+    public String obtenerUsuario(String sessionId) {
+        return sesiones.getIfPresent(sessionId);
+    }
+
+    public void guardar(String sessionId, String username) {
+        sesiones.put(sessionId, username);
+    }
+
+    // Invalida la sesión en este nodo de inmediato y avisa al resto
+    public void invalidar(String sessionId) {
+        sesiones.invalidate(sessionId);
+        try {
+            stringRedisTemplate.convertAndSend(CANAL_INVALIDACION, sessionId);
+        } catch (Exception e) {
+            // Los demás nodos la descartarán al vencer el TTL local
+            System.err.println("Error publicando la invalidación de sesión: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        sesiones.invalidate(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+}
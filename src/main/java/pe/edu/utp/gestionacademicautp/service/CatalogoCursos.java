@@ -0,0 +1,178 @@
+package pe.edu.utp.gestionacademicautp.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import pe.edu.utp.gestionacademicautp.dto.CursoDTO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Catálogo de cursos en memoria: la tabla cursos de MySQL es pequeña y casi no cambia, así que se guarda entera
+// en una instantánea inmutable y versionada, con búsqueda por ID en un int[] ordenado (sin Integer ni hash).
+// Se reconstruye y se reemplaza de una vez al confirmar cada escritura de cursos y periódicamente, para recoger
+// lo escrito desde otros nodos. Los lectores nunca ven una instantánea a medio armar y solo hacen I/O si piden
+// un ID que la instantánea todavía no tiene.
+@Service
+@RequiredArgsConstructor
+public class CatalogoCursos {
+
+    private record Curso(int id, String nombre, String codigo, int creditos) {
+    }
+
+    // ids[i] corresponde a cursos[i]; ambos ordenados por ID
+    private record Instantanea(long version, long creadaMs, int[] ids, Curso[] cursos) {
+
+        int posicion(int id) {
+            return Arrays.binarySearch(ids, id);
+        }
+    }
+
+    @Qualifier("mysqlJdbcTemplate")
+    private final JdbcTemplate mysqlJdbcTemplate;
+
+    private final AtomicReference<Instantanea> actual = new AtomicReference<>();
+    // Lock y no synchronized: la recarga hace I/O y con hilos virtuales un monitor fija el hilo portador
+    private final ReentrantLock recarga = new ReentrantLock();
+
+    // Un ID desconocido (curso creado en otro nodo) fuerza una recarga, pero no más seguido que esto
+    @Value("${app.catalogo-cursos.recarga-minima-ms:5000}")
+    private long recargaMinimaMs;
+
+    public long version() {
+        return instantanea().version();
+    }
+
+    public List<CursoDTO> todos() {
+        Instantanea instantanea = instantanea();
+        List<CursoDTO> cursos = new ArrayList<>(instantanea.cursos().length);
+        for (Curso curso : instantanea.cursos()) {
+            cursos.add(convertToDto(curso));
+        }
+        return cursos;
+    }
+
+    public CursoDTO buscar(int id) {
+        Instantanea instantanea = instantanea();
+        int posicion = instantanea.posicion(id);
+        if (posicion < 0 && recargarSiVencida(instantanea)) {
+            instantanea = actual.get();
+            posicion = instantanea.posicion(id);
+        }
+        return posicion >= 0 ? convertToDto(instantanea.cursos()[posicion]) : null;
+    }
+
+    // Cursos de los IDs dados en el mismo orden; los que no existen se omiten
+    public List<CursoDTO> buscarTodos(Collection<Integer> ids) {
+        Instantanea instantanea = instantanea();
+        if (!contieneTodos(instantanea, ids) && recargarSiVencida(instantanea)) {
+            instantanea = actual.get();
+        }
+        List<CursoDTO> cursos = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            int posicion = id != null ? instantanea.posicion(id) : -1;
+            if (posicion >= 0) {
+                cursos.add(convertToDto(instantanea.cursos()[posicion]));
+            }
+        }
+        return cursos;
+    }
+
+    // Las escrituras de cursos llaman a esto: la instantánea nueva se lee ya con la transacción confirmada
+    public void recargarDespuesDelCommit() {
+        DespuesDelCommit.ejecutar(() -> {
+            try {
+                recargar();
+            } catch (Exception e) {
+                // La recarga periódica la reintenta
+                System.err.println("Error recargando el catálogo de cursos: " + e.getMessage());
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.catalogo-cursos.recarga-ms:300000}")
+    void recargarPeriodicamente() {
+        try {
+            recargar();
+        } catch (Exception e) {
+            System.err.println("Error recargando el catálogo de cursos: " + e.getMessage());
+        }
+    }
+
+    // Lee la tabla completa y reemplaza la instantánea; las recargas se serializan para que una lectura
+    // anterior nunca reemplace a una posterior
+    public void recargar() {
+        recarga.lock();
+        try {
+            List<Curso> filas = mysqlJdbcTemplate.query("SELECT id, nombre, codigo, creditos FROM cursos ORDER BY id",
+                    (rs, fila) -> new Curso(rs.getInt("id"), rs.getString("nombre"), rs.getString("codigo"),
+                            rs.getInt("creditos")));
+            int[] ids = new int[filas.size()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = filas.get(i).id();
+            }
+            Instantanea anterior = actual.get();
+            long version = anterior != null ? anterior.version() + 1 : 1;
+            actual.set(new Instantanea(version, System.currentTimeMillis(), ids, filas.toArray(new Curso[0])));
+        } finally {
+            recarga.unlock();
+        }
+    }
+
+    private Instantanea instantanea() {
+        Instantanea instantanea = actual.get();
+        if (instantanea == null) {
+            recarga.lock();
+            try {
+                if (actual.get() == null) {
+                    recargar();
+                }
+            } finally {
+                recarga.unlock();
+            }
+            instantanea = actual.get();
+        }
+        return instantanea;
+    }
+
+    private boolean recargarSiVencida(Instantanea instantanea) {
+        if (System.currentTimeMillis() - instantanea.creadaMs() < recargaMinimaMs) {
+            return false;
+        }
+        recarga.lock();
+        try {
+            // Otra petición pudo haberla recargado mientras se esperaba el lock
+            if (actual.get() == instantanea) {
+                recargar();
+            }
+        } finally {
+            recarga.unlock();
+        }
+        return true;
+    }
+
+    private static boolean contieneTodos(Instantanea instantanea, Collection<Integer> ids) {
+        for (Integer id : ids) {
+            if (id != null && instantanea.posicion(id) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static CursoDTO convertToDto(Curso curso) {
+        CursoDTO dto = new CursoDTO();
+        dto.setId(curso.id());
+        dto.setNombre(curso.nombre());
+        dto.setCodigo(curso.codigo());
+        dto.setCreditos(curso.creditos());
+        return dto;
+    }
+}
@@ -0,0 +1,177 @@
+package pe.edu.utp.gestionacademicautp.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import pe.edu.utp.gestionacademicautp.repository.cassandra.ProfesorRepository;
+import pe.edu.utp.gestionacademicautp.repository.mongo.ProyectoInvestigacionRepository;
+import pe.edu.utp.gestionacademicautp.repository.mysql.CursoRepository;
+import pe.edu.utp.gestionacademicautp.repository.postgres.EstudianteRepository;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// Contadores del dashboard materializados en Redis: los servicios los ajustan al crear/eliminar
+// y un reconciliador periódico corrige cualquier desvío contra las bases de datos
+@Service
+@RequiredArgsConstructor
+public class ContadoresDashboardService {
+
+    public enum Entidad {
+        ESTUDIANTES, PROFESORES, CURSOS, PROYECTOS;
+
+        String claveValor() {
+            return "dashboard:contador:" + name().toLowerCase();
+        }
+
+        String claveReconciliacion() {
+            return "dashboard:reconciliado:" + name().toLowerCase();
+        }
+    }
+
+    // Solo incrementa si el contador ya fue inicializado; si no, lo dejará correcto la reconciliación
+    private static final RedisScript<Long> INCREMENTAR_SI_EXISTE = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 1 then return redis.call('INCRBY', KEYS[1], ARGV[1]) end return nil",
+            Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final EstudianteRepository estudianteRepository;
+    private final ProfesorRepository profesorRepository;
+    private final CursoRepository cursoRepository;
+    private final ProyectoInvestigacionRepository proyectoRepository;
+
+    // Reconciliación pedida por el dashboard al encontrar un contador vacío: corre fuera de la petición y una
+    // sola a la vez, por muchas peticiones que la pidan
+    private final ExecutorService reconciliador = Executors.newSingleThreadExecutor(
+            new CustomizableThreadFactory("contadores-"));
+    private final AtomicBoolean reconciliacionEnCurso = new AtomicBoolean();
+    private final AtomicLong ultimaReconciliacionSolicitada = new AtomicLong();
+
+    // Espera mínima entre dos reconciliaciones pedidas por el dashboard: cada una cuenta las cuatro bases
+    @Value("${app.dashboard.reconciliacion-minima-ms:30000}")
+    private long intervaloMinimoMs;
+
+    public void incrementar(Entidad entidad, long delta) {
+        DespuesDelCommit.ejecutar(() -> {
+            try {
+                stringRedisTemplate.execute(INCREMENTAR_SI_EXISTE, List.of(entidad.claveValor()), String.valueOf(delta));
+            } catch (Exception e) {
+                System.err.println("Error actualizando el contador de " + entidad + ": " + e.getMessage());
+            }
+        });
+    }
+
+    public void decrementar(Entidad entidad) {
+        incrementar(entidad, -1);
+    }
+
+    @PreDestroy
+    void detener() {
+        reconciliador.shutdownNow();
+    }
+
+    // Lee los cuatro contadores y sus marcas de reconciliación en un solo MGET. Nunca consulta las bases de
+    // datos: un contador que falta se informa como 0 con antigüedad desconocida (-1) y se reconcilia aparte
+    public Map<Entidad, Contador> obtenerTodos() {
+        Entidad[] entidades = Entidad.values();
+        List<String> claves = new ArrayList<>(entidades.length * 2);
+        for (Entidad entidad : entidades) {
+            claves.add(entidad.claveValor());
+            claves.add(entidad.claveReconciliacion());
+        }
+        List<String> valores;
+        boolean redisDisponible = true;
+        try {
+            valores = stringRedisTemplate.opsForValue().multiGet(claves);
+        } catch (Exception e) {
+            System.err.println("Error leyendo los contadores del dashboard: " + e.getMessage());
+            valores = null;
+            redisDisponible = false;
+        }
+
+        long ahora = System.currentTimeMillis();
+        Map<Entidad, Contador> contadores = new EnumMap<>(Entidad.class);
+        boolean faltantes = false;
+        for (int i = 0; i < entidades.length; i++) {
+            String valor = valores != null ? valores.get(i * 2) : null;
+            String reconciliado = valores != null ? valores.get(i * 2 + 1) : null;
+            if (valor == null || reconciliado == null) {
+                // Contador aún no inicializado (primer arranque, Redis vaciado o caído)
+                contadores.put(entidades[i], new Contador(0L, -1L));
+                faltantes = true;
+            } else {
+                long antiguedadSegundos = (ahora - Long.parseLong(reconciliado)) / 1000;
+                contadores.put(entidades[i], new Contador(Long.parseLong(valor), antiguedadSegundos));
+            }
+        }
+        // Con Redis caído no se reconcilia: los conteos no podrían guardarse y cada petición los repetiría
+        if (faltantes && redisDisponible) {
+            solicitarReconciliacion();
+        }
+        return contadores;
+    }
+
+    private void solicitarReconciliacion() {
+        long ahora = System.currentTimeMillis();
+        if (ahora - ultimaReconciliacionSolicitada.get() < intervaloMinimoMs
+                || !reconciliacionEnCurso.compareAndSet(false, true)) {
+            return;
+        }
+        ultimaReconciliacionSolicitada.set(ahora);
+        try {
+            reconciliador.execute(() -> {
+                try {
+                    reconciliarTodos();
+                } finally {
+                    reconciliacionEnCurso.set(false);
+                }
+            });
+        } catch (Exception e) {
+            reconciliacionEnCurso.set(false);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.dashboard.reconciliacion-ms:300000}")
+    public void reconciliarTodos() {
+        for (Entidad entidad : Entidad.values()) {
+            try {
+                reconciliar(entidad);
+            } catch (Exception e) {
+                System.err.println("Error reconciliando el contador de " + entidad + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private long reconciliar(Entidad entidad) {
+        long total = conteoReal(entidad).getAsLong();
+        stringRedisTemplate.opsForValue().set(entidad.claveValor(), String.valueOf(total));
+        stringRedisTemplate.opsForValue().set(entidad.claveReconciliacion(), String.valueOf(System.currentTimeMillis()));
+        return total;
+    }
+
+    private LongSupplier conteoReal(Entidad entidad) {
+        return switch (entidad) {
+            case ESTUDIANTES -> estudianteRepository::count;
+            // Conteo completo de la tabla en Cassandra: solo lo hace el reconciliador, nunca el dashboard
+            case PROFESORES -> profesorRepository::count;
+            case CURSOS -> cursoRepository::count;
+            case PROYECTOS -> proyectoRepository::count;
+        };
+    }
+
+    public record Contador(long total, long antiguedadSegundos) {
+    }
+}
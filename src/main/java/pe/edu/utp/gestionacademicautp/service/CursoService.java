@@ -1,13 +1,23 @@
 package pe.edu.utp.gestionacademicautp.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Service;
 import pe.edu.utp.gestionacademicautp.dto.CursoDTO;
+import pe.edu.utp.gestionacademicautp.dto.PaginaDTO;
 import pe.edu.utp.gestionacademicautp.model.mysql.Curso;
 import pe.edu.utp.gestionacademicautp.repository.mysql.CursoRepository;
+import pe.edu.utp.gestionacademicautp.service.ContadoresDashboardService.Entidad;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -15,25 +25,63 @@ import java.util.stream.Collectors;
 public class CursoService {
 
     private final CursoRepository cursoRepository;
+    private final ReporteIntegralEstudianteService reporteService;
+    private final ContadoresDashboardService contadores;
+    @Qualifier("mysqlJdbcTemplate")
+    private final JdbcTemplate mysqlJdbcTemplate;
+    private final NominaService nominaService;
+    private final CatalogoCursos catalogoCursos;
+    private final OutboxService outboxService;
 
-    @Transactional(readOnly = true, transactionManager = "mysqlTransactionManager")
+    // El catálogo casi no cambia durante el ciclo: se sirve desde la instantánea en memoria
     public List<CursoDTO> getAllCursos() {
-        return cursoRepository.findAll().stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return catalogoCursos.todos();
     }
 
     @Transactional(readOnly = true, transactionManager = "mysqlTransactionManager")
+    public PaginaDTO<CursoDTO> getPaginaCursos(String cursor, int tamano) {
+        int limite = CursorPaginacion.normalizarTamano(tamano);
+        int despuesDe = cursor != null ? CursorPaginacion.decodificarEntero(cursor) : 0;
+        List<Curso> filas = cursoRepository.findByIdGreaterThanOrderByIdAsc(despuesDe, Limit.of(limite + 1));
+        return CursorPaginacion.armarPagina(filas, limite, Curso::getId,
+                pagina -> pagina.stream().map(this::convertToDto).collect(Collectors.toList()));
+    }
+
+    // Recorre todos los cursos fila por fila sin cargarlos en memoria
+    public void streamAllCursos(Consumer<CursoDTO> consumidor) {
+        // Con fetch size Integer.MIN_VALUE el driver de MySQL entrega las filas a medida que llegan
+        PreparedStatementCreator consulta = con -> {
+            PreparedStatement ps = con.prepareStatement("SELECT id, nombre, codigo, creditos FROM cursos ORDER BY id",
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(Integer.MIN_VALUE);
+            return ps;
+        };
+        RowCallbackHandler emitir = rs -> {
+            CursoDTO dto = new CursoDTO();
+            dto.setId(rs.getInt("id"));
+            dto.setNombre(rs.getString("nombre"));
+            dto.setCodigo(rs.getString("codigo"));
+            dto.setCreditos(rs.getInt("creditos"));
+            consumidor.accept(dto);
+        };
+        mysqlJdbcTemplate.query(consulta, emitir);
+    }
+
     public CursoDTO getCursoById(Integer id) {
-        return cursoRepository.findById(id)
-                .map(this::convertToDto)
-                .orElse(null);
+        return catalogoCursos.buscar(id);
+    }
+
+    // Total de matriculados servido desde Redis; solo se cuenta sobre el índice inverso si no está en cache
+    public long getTotalInscritos(Integer id) {
+        return nominaService.contarInscritos(id);
     }
 
     @Transactional(transactionManager = "mysqlTransactionManager")
     public CursoDTO createCurso(CursoDTO cursoDTO) {
         Curso curso = convertToEntity(cursoDTO);
         curso = cursoRepository.save(curso);
+        contadores.incrementar(Entidad.CURSOS, 1);
+        catalogoCursos.recargarDespuesDelCommit();
         return convertToDto(curso);
     }
 
@@ -43,13 +91,24 @@ public class CursoService {
             curso.setNombre(cursoDTO.getNombre());
             curso.setCodigo(cursoDTO.getCodigo());
             curso.setCreditos(cursoDTO.getCreditos());
-            return convertToDto(cursoRepository.save(curso));
+            CursoDTO actualizado = convertToDto(cursoRepository.save(curso));
+            reporteService.invalidarCacheReportesPorCurso(id);
+            catalogoCursos.recargarDespuesDelCommit();
+            return actualizado;
         }).orElse(null);
     }
 
     @Transactional(transactionManager = "mysqlTransactionManager")
     public void deleteCurso(Integer id) {
+        boolean existia = cursoRepository.existsById(id);
         cursoRepository.deleteById(id);
+        // Matrículas, profesores y caches se limpian de forma asíncrona; mientras tanto el catálogo ya no
+        // resuelve el curso, así que los reportes no lo muestran. El evento va en esta misma transacción
+        outboxService.registrarEnMysql(OutboxService.TipoEvento.CURSO_ELIMINADO, id);
+        catalogoCursos.recargarDespuesDelCommit();
+        if (existia) {
+            contadores.decrementar(Entidad.CURSOS);
+        }
     }
 
     private CursoDTO convertToDto(Curso curso) {
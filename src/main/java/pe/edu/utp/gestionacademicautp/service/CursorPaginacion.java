@@ -0,0 +1,66 @@
+package pe.edu.utp.gestionacademicautp.service;
+
+import pe.edu.utp.gestionacademicautp.dto.PaginaDTO;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+// Codificación de los cursores de paginación por clave (keyset) que comparten todos los almacenes
+final class CursorPaginacion {
+    static final int TAMANO_MAXIMO = 500;
+
+    private CursorPaginacion() {
+    }
+
+    static int normalizarTamano(int tamano) {
+        return Math.max(1, Math.min(tamano, TAMANO_MAXIMO));
+    }
+
+    static String codificar(Object clave) {
+        return codificar(String.valueOf(clave).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String codificar(ByteBuffer estadoPaginacion) {
+        ByteBuffer copia = estadoPaginacion.duplicate();
+        byte[] bytes = new byte[copia.remaining()];
+        copia.get(bytes);
+        return codificar(bytes);
+    }
+
+    static String decodificarTexto(String cursor) {
+        return new String(decodificarBytes(cursor), StandardCharsets.UTF_8);
+    }
+
+    static int decodificarEntero(String cursor) {
+        String valor = decodificarTexto(cursor);
+        try {
+            return Integer.parseInt(valor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Cursor de paginación inválido: " + cursor);
+        }
+    }
+
+    static byte[] decodificarBytes(String cursor) {
+        try {
+            return Base64.getUrlDecoder().decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor de paginación inválido: " + cursor);
+        }
+    }
+
+    // Las consultas piden limite + 1 filas: la fila extra solo indica que existe una página siguiente
+    static <E, T> PaginaDTO<T> armarPagina(List<E> filas, int limite, Function<E, Object> clave,
+                                           Function<List<E>, List<T>> convertir) {
+        boolean hayMas = filas.size() > limite;
+        List<E> pagina = hayMas ? filas.subList(0, limite) : filas;
+        String siguienteCursor = hayMas ? codificar(clave.apply(pagina.get(pagina.size() - 1))) : null;
+        return new PaginaDTO<>(convertir.apply(pagina), siguienteCursor);
+    }
+
+    private static String codificar(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
@@ -0,0 +1,24 @@
+package pe.edu.utp.gestionacademicautp.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Efectos secundarios (cache, contadores) que solo deben verse si la transacción en curso se confirma
+final class DespuesDelCommit {
+
+    private DespuesDelCommit() {
+    }
+
+    static void ejecutar(Runnable accion) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    accion.run();
+                }
+            });
+        } else {
+            accion.run();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package pe.edu.utp.gestionacademicautp.service;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+import pe.edu.utp.gestionacademicautp.model.User;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+// Origen de los usuarios que pueden iniciar sesión. La implementación se elige con app.usuarios.directorio
+// (postgres por defecto, memoria para desarrollo sin base de datos).
+public interface DirectorioUsuarios {
+
+    Optional<User> buscar(String username);
+
+    Collection<User> todos();
+
+    // Registra el último login sin bloquear el inicio de sesión; puede persistirse más tarde
+    void registrarUltimoLogin(String username, LocalDateTime momento);
+
+    // Reemplaza el hash de la contraseña (p. ej. al regenerarlo con otro costo de BCrypt)
+    void actualizarPassword(String username, String password);
+
+    static List<User> usuariosPorDefecto(PasswordEncoder passwordEncoder) {
+        return List.of(
+                new User("admin", passwordEncoder.encode("admin123"), "admin@utp.edu.pe", "Administrador", "Sistema", "ADMIN"),
+                new User("usuario", passwordEncoder.encode("user123"), "usuario@utp.edu.pe", "Usuario", "Demo", "USER"),
+                new User("profesor", passwordEncoder.encode("prof123"), "profesor@utp.edu.pe", "Profesor", "Demo", "PROFESSOR"));
+    }
+
+    static User conPassword(User user, String password) {
+        return new User(user.getUsername(), password, user.getEmail(), user.getFirstName(),
+                user.getLastName(), user.getRole(), user.isActive(), user.getCreatedAt(), user.getLastLogin());
+    }
+
+    static User conUltimoLogin(User user, LocalDateTime momento) {
+        return new User(user.getUsername(), user.getPassword(), user.getEmail(), user.getFirstName(),
+                user.getLastName(), user.getRole(), user.isActive(), user.getCreatedAt(), momento);
+    }
+}
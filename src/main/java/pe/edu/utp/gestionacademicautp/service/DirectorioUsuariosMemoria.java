@@ -0,0 +1,45 @@
+package pe.edu.utp.gestionacademicautp.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import pe.edu.utp.gestionacademicautp.model.User;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Directorio sin persistencia (solo desarrollo): los usuarios por defecto viven en memoria del nodo
+@Component
+@ConditionalOnProperty(name = "app.usuarios.directorio", havingValue = "memoria")
+public class DirectorioUsuariosMemoria implements DirectorioUsuarios {
+
+    private final Map<String, User> usuarios = new ConcurrentHashMap<>();
+
+    public DirectorioUsuariosMemoria(PasswordEncoder passwordEncoder) {
+        DirectorioUsuarios.usuariosPorDefecto(passwordEncoder).forEach(user -> usuarios.put(user.getUsername(), user));
+    }
+
+    @Override
+    public Optional<User> buscar(String username) {
+        return username != null ? Optional.ofNullable(usuarios.get(username)) : Optional.empty();
+    }
+
+    @Override
+    public Collection<User> todos() {
+        return List.copyOf(usuarios.values());
+    }
+
+    @Override
+    public void registrarUltimoLogin(String username, LocalDateTime momento) {
+        usuarios.computeIfPresent(username, (clave, user) -> DirectorioUsuarios.conUltimoLogin(user, momento));
+    }
+
+    @Override
+    public void actualizarPassword(String username, String password) {
+        usuarios.computeIfPresent(username, (clave, user) -> DirectorioUsuarios.conPassword(user, password));
+    }
+}
@@ -0,0 +1,147 @@
+package pe.edu.utp.gestionacademicautp.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import pe.edu.utp.gestionacademicautp.model.User;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Directorio de usuarios persistido en PostgreSQL (tabla usuario) con una cache concurrente de lectura.
+// Los últimos logins se acumulan en memoria y se escriben por lotes fuera del camino del login.
+@Component
+@ConditionalOnProperty(name = "app.usuarios.directorio", havingValue = "postgres", matchIfMissing = true)
+@DependsOn("postgresEsquemaInitializer")
+public class DirectorioUsuariosPostgres implements DirectorioUsuarios {
+
+    private static final String COLUMNAS =
+            "username, password, email, first_name, last_name, role, active, created_at, last_login";
+
+    private static final RowMapper<User> MAPEO = (rs, fila) -> {
+        Timestamp lastLogin = rs.getTimestamp("last_login");
+        return new User(rs.getString("username"), rs.getString("password"), rs.getString("email"),
+                rs.getString("first_name"), rs.getString("last_name"), rs.getString("role"),
+                rs.getBoolean("active"), rs.getTimestamp("created_at").toLocalDateTime(),
+                lastLogin != null ? lastLogin.toLocalDateTime() : null);
+    };
+
+    private final JdbcTemplate postgresJdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+
+    private final Map<String, User> cache = new ConcurrentHashMap<>();
+    private final Map<String, LocalDateTime> ultimosLoginPendientes = new ConcurrentHashMap<>();
+
+    public DirectorioUsuariosPostgres(@Qualifier("postgresJdbcTemplate") JdbcTemplate postgresJdbcTemplate,
+                                      PasswordEncoder passwordEncoder) {
+        this.postgresJdbcTemplate = postgresJdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    @PostConstruct
+    void inicializar() {
+        Integer existentes = postgresJdbcTemplate.queryForObject("SELECT COUNT(*) FROM usuario", Integer.class);
+        if (existentes == null || existentes == 0) {
+            // Primer arranque: se crean los usuarios por defecto
+            List<Object[]> filas = new ArrayList<>();
+            for (User user : DirectorioUsuarios.usuariosPorDefecto(passwordEncoder)) {
+                filas.add(new Object[]{user.getUsername(), user.getPassword(), user.getEmail(), user.getFirstName(),
+                        user.getLastName(), user.getRole(), user.isActive(), Timestamp.valueOf(user.getCreatedAt())});
+            }
+            postgresJdbcTemplate.batchUpdate("INSERT INTO usuario (username, password, email, first_name, last_name,"
+                    + " role, active, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?) ON CONFLICT DO NOTHING", filas);
+        }
+        recargar();
+    }
+
+    @Override
+    public Optional<User> buscar(String username) {
+        if (username == null) {
+            return Optional.empty();
+        }
+        User user = cache.get(username);
+        if (user == null) {
+            // Usuario creado por otro nodo o directamente en la base de datos
+            List<User> encontrados = postgresJdbcTemplate.query(
+                    "SELECT " + COLUMNAS + " FROM usuario WHERE username = ?", MAPEO, username);
+            if (encontrados.isEmpty()) {
+                return Optional.empty();
+            }
+            user = cache.merge(username, encontrados.get(0), (actual, leido) -> actual);
+        }
+        return Optional.of(user);
+    }
+
+    @Override
+    public Collection<User> todos() {
+        return List.copyOf(cache.values());
+    }
+
+    @Override
+    public void registrarUltimoLogin(String username, LocalDateTime momento) {
+        // Se reemplaza el usuario cacheado en vez de mutarlo: otros hilos pueden estar leyéndolo
+        cache.computeIfPresent(username, (clave, user) -> DirectorioUsuarios.conUltimoLogin(user, momento));
+        ultimosLoginPendientes.merge(username, momento,
+                (anterior, nuevo) -> nuevo.isAfter(anterior) ? nuevo : anterior);
+    }
+
+    @Override
+    public void actualizarPassword(String username, String password) {
+        postgresJdbcTemplate.update("UPDATE usuario SET password = ? WHERE username = ?", password, username);
+        cache.computeIfPresent(username, (clave, user) -> DirectorioUsuarios.conPassword(user, password));
+    }
+
+    @Scheduled(fixedDelayString = "${app.usuarios.escritura-ultimo-login-ms:5000}")
+    public void escribirUltimosLogin() {
+        if (ultimosLoginPendientes.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<String, LocalDateTime>> lote = new ArrayList<>(Map.copyOf(ultimosLoginPendientes).entrySet());
+        List<Object[]> filas = new ArrayList<>(lote.size());
+        for (Map.Entry<String, LocalDateTime> pendiente : lote) {
+            Timestamp momento = Timestamp.valueOf(pendiente.getValue());
+            filas.add(new Object[]{momento, pendiente.getKey(), momento});
+        }
+        try {
+            postgresJdbcTemplate.batchUpdate("UPDATE usuario SET last_login = ? WHERE username = ?"
+                    + " AND (last_login IS NULL OR last_login < ?)", filas);
+            // Solo se descartan los valores escritos; un login más reciente queda para el próximo lote
+            lote.forEach(pendiente -> ultimosLoginPendientes.remove(pendiente.getKey(), pendiente.getValue()));
+        } catch (Exception e) {
+            System.err.println("Error guardando los últimos logins: " + e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.usuarios.recarga-ms:300000}")
+    public void recargar() {
+        Set<String> vigentes = new HashSet<>();
+        for (User leido : postgresJdbcTemplate.query("SELECT " + COLUMNAS + " FROM usuario", MAPEO)) {
+            vigentes.add(leido.getUsername());
+            // El último login en memoria puede ser más reciente que el persistido
+            LocalDateTime pendiente = ultimosLoginPendientes.get(leido.getUsername());
+            cache.put(leido.getUsername(),
+                    pendiente != null ? DirectorioUsuarios.conUltimoLogin(leido, pendiente) : leido);
+        }
+        cache.keySet().retainAll(vigentes);
+    }
+
+    @PreDestroy
+    void cerrar() {
+        escribirUltimosLogin();
+    }
+}
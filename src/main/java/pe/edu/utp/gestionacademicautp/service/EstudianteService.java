@@ -2,31 +2,54 @@ package pe.edu.utp.gestionacademicautp.service;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.Limit;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import pe.edu.utp.gestionacademicautp.dto.EstudianteDTO;
+import pe.edu.utp.gestionacademicautp.dto.PaginaDTO;
+import pe.edu.utp.gestionacademicautp.dto.SincronizacionRelacionesDTO;
 import pe.edu.utp.gestionacademicautp.model.postgres.Estudiante;
 import pe.edu.utp.gestionacademicautp.repository.postgres.EstudianteRepository;
+import pe.edu.utp.gestionacademicautp.service.ContadoresDashboardService.Entidad;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class EstudianteService {
 
+    // Filas que el driver trae por viaje al recorrer la tabla completa
+    private static final int FILAS_POR_LOTE_STREAM = 500;
+
     private final EstudianteRepository estudianteRepository;
     private final ReporteIntegralEstudianteService reporteService;
+    private final ContadoresDashboardService contadores;
     @Qualifier("postgresJdbcTemplate")
     private final JdbcTemplate postgresJdbcTemplate;
+    private final BusquedaService busquedaService;
+    private final NominaService nominaService;
+    private final OutboxService outboxService;
 
     @Transactional(readOnly = true, transactionManager = "postgresTransactionManager")
     public List<EstudianteDTO> getAll() {
         try {
-            return estudianteRepository.findAll().stream().map(this::convertToDtoWithRelations)
-                    .collect(Collectors.toList());
+            return convertToDtosWithRelations(estudianteRepository.findAll());
         } catch (Exception e) {
             // Registrar el error y devolver una lista vacía
             System.err.println("Error al obtener estudiantes: " + e.getMessage());
@@ -34,9 +57,43 @@ public class EstudianteService {
         }
     }
 
+    @Transactional(readOnly = true, transactionManager = "postgresTransactionManager")
+    public PaginaDTO<EstudianteDTO> getPagina(String cursor, int tamano) {
+        int limite = CursorPaginacion.normalizarTamano(tamano);
+        int despuesDe = cursor != null ? CursorPaginacion.decodificarEntero(cursor) : 0;
+        List<Estudiante> filas = estudianteRepository.findByIdGreaterThanOrderByIdAsc(despuesDe, Limit.of(limite + 1));
+        return CursorPaginacion.armarPagina(filas, limite, Estudiante::getId, this::convertToDtosWithRelations);
+    }
+
+    // Recorre todos los estudiantes con un cursor del servidor; las relaciones se cargan por lotes
+    @Transactional(readOnly = true, transactionManager = "postgresTransactionManager")
+    public void streamAll(Consumer<EstudianteDTO> consumidor) {
+        // PostgreSQL solo respeta el fetch size dentro de una transacción (autocommit desactivado)
+        PreparedStatementCreator consulta = con -> {
+            PreparedStatement ps = con.prepareStatement(
+                    "SELECT id, nombre, apellido, correo, fecha_nacimiento FROM estudiante ORDER BY id",
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(FILAS_POR_LOTE_STREAM);
+            return ps;
+        };
+        List<Estudiante> lote = new ArrayList<>(FILAS_POR_LOTE_STREAM);
+        RowCallbackHandler acumular = rs -> {
+            lote.add(new Estudiante(rs.getInt("id"), rs.getString("nombre"), rs.getString("apellido"),
+                    rs.getString("correo"), rs.getObject("fecha_nacimiento", LocalDate.class)));
+            if (lote.size() == FILAS_POR_LOTE_STREAM) {
+                convertToDtosWithRelations(lote).forEach(consumidor);
+                lote.clear();
+            }
+        };
+        postgresJdbcTemplate.query(consulta, acumular);
+        convertToDtosWithRelations(lote).forEach(consumidor);
+    }
+
     @Transactional(readOnly = true, transactionManager = "postgresTransactionManager")
     public EstudianteDTO getById(Integer id) {
-        return estudianteRepository.findById(id).map(this::convertToDtoWithRelations).orElse(null);
+        return estudianteRepository.findById(id)
+                .map(estudiante -> convertToDtosWithRelations(List.of(estudiante)).get(0))
+                .orElse(null);
     }
 
     @Transactional(transactionManager = "postgresTransactionManager")
@@ -54,6 +111,8 @@ public class EstudianteService {
             updateProyectoRelationships(savedEstudiante.getId(), estudianteDTO.getProyectoIds());
         }
 
+        contadores.incrementar(Entidad.ESTUDIANTES, 1);
+        busquedaService.indexarEstudiante(savedEstudiante);
         return convertToDto(savedEstudiante);
     }
 
@@ -77,18 +136,53 @@ public class EstudianteService {
             }
 
             reporteService.invalidarCacheReporte(id);
+            busquedaService.indexarEstudiante(updatedEstudiante);
             return convertToDto(updatedEstudiante);
         }).orElse(null);
     }
 
+    // Reemplaza los cursos del estudiante; null si el estudiante no existe
+    @Transactional(transactionManager = "postgresTransactionManager")
+    public SincronizacionRelacionesDTO updateCursos(Integer id, List<Integer> cursoIds) {
+        if (!estudianteRepository.existsById(id)) {
+            return null;
+        }
+        SincronizacionRelacionesDTO resultado = updateCursoRelationships(id, cursoIds);
+        if (resultado.getAgregados() + resultado.getEliminados() > 0) {
+            reporteService.invalidarCacheReporte(id);
+        }
+        return resultado;
+    }
+
+    // Reemplaza los proyectos del estudiante; null si el estudiante no existe
+    @Transactional(transactionManager = "postgresTransactionManager")
+    public SincronizacionRelacionesDTO updateProyectos(Integer id, List<String> proyectoIds) {
+        if (!estudianteRepository.existsById(id)) {
+            return null;
+        }
+        SincronizacionRelacionesDTO resultado = updateProyectoRelationships(id, proyectoIds);
+        if (resultado.getAgregados() + resultado.getEliminados() > 0) {
+            reporteService.invalidarCacheReporte(id);
+        }
+        return resultado;
+    }
+
     @Transactional(transactionManager = "postgresTransactionManager")
     public void delete(Integer id) {
-        // Eliminar relaciones primero
-        postgresJdbcTemplate.update("DELETE FROM estudiante_curso WHERE estudiante_id = ?", id);
+        boolean existia = estudianteRepository.existsById(id);
+        // Eliminar relaciones primero; los cursos que pierden al estudiante cambian su total de inscritos
+        List<Integer> cursos = postgresJdbcTemplate.queryForList(
+                "DELETE FROM estudiante_curso WHERE estudiante_id = ? RETURNING curso_id", Integer.class, id);
         postgresJdbcTemplate.update("DELETE FROM estudiante_proyecto WHERE estudiante_id = ?", id);
         // Luego eliminar el estudiante
         estudianteRepository.deleteById(id);
-        reporteService.invalidarCacheReporte(id);
+        // Las caches en Redis se invalidan desde el outbox, registrado en esta misma transacción
+        outboxService.registrar(OutboxService.TipoEvento.ESTUDIANTE_ELIMINADO, List.of(id));
+        outboxService.registrar(OutboxService.TipoEvento.INSCRITOS_CAMBIADOS, cursos);
+        busquedaService.eliminar(BusquedaService.Tipo.ESTUDIANTES, id);
+        if (existia) {
+            contadores.decrementar(Entidad.ESTUDIANTES);
+        }
     }
 
     private EstudianteDTO convertToDto(Estudiante estudiante) {
@@ -101,24 +195,44 @@ public class EstudianteService {
         return dto;
     }
 
-    private EstudianteDTO convertToDtoWithRelations(Estudiante estudiante) {
-        EstudianteDTO dto = convertToDto(estudiante);
+    // Carga las relaciones de todo el lote con una consulta por tabla, sin importar cuántos estudiantes haya
+    private List<EstudianteDTO> convertToDtosWithRelations(List<Estudiante> estudiantes) {
+        Map<Integer, EstudianteDTO> dtosPorId = new LinkedHashMap<>();
+        for (Estudiante estudiante : estudiantes) {
+            dtosPorId.put(estudiante.getId(), convertToDto(estudiante));
+        }
+        if (dtosPorId.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Integer[] ids = dtosPorId.keySet().toArray(new Integer[0]);
+        PreparedStatementSetter porIds = ps -> ps.setArray(1, ps.getConnection().createArrayOf("integer", ids));
 
         // Obtener IDs de cursos relacionados
-        List<Integer> cursoIds = postgresJdbcTemplate.queryForList(
-                "SELECT curso_id FROM estudiante_curso WHERE estudiante_id = ?",
-                Integer.class,
-                estudiante.getId());
-        dto.setCursoIds(cursoIds.isEmpty() ? null : cursoIds);
+        RowCallbackHandler agregarCurso = rs -> {
+            EstudianteDTO dto = dtosPorId.get(rs.getInt("estudiante_id"));
+            if (dto.getCursoIds() == null) {
+                dto.setCursoIds(new ArrayList<>());
+            }
+            dto.getCursoIds().add(rs.getInt("curso_id"));
+        };
+        postgresJdbcTemplate.query(
+                "SELECT estudiante_id, curso_id FROM estudiante_curso WHERE estudiante_id = ANY(?)",
+                porIds, agregarCurso);
 
         // Obtener IDs de proyectos relacionados
-        List<String> proyectoIds = postgresJdbcTemplate.queryForList(
-                "SELECT proyecto_id FROM estudiante_proyecto WHERE estudiante_id = ?",
-                String.class,
-                estudiante.getId());
-        dto.setProyectoIds(proyectoIds.isEmpty() ? null : proyectoIds);
+        RowCallbackHandler agregarProyecto = rs -> {
+            EstudianteDTO dto = dtosPorId.get(rs.getInt("estudiante_id"));
+            if (dto.getProyectoIds() == null) {
+                dto.setProyectoIds(new ArrayList<>());
+            }
+            dto.getProyectoIds().add(rs.getString("proyecto_id"));
+        };
+        postgresJdbcTemplate.query(
+                "SELECT estudiante_id, proyecto_id FROM estudiante_proyecto WHERE estudiante_id = ANY(?)",
+                porIds, agregarProyecto);
 
-        return dto;
+        return new ArrayList<>(dtosPorId.values());
     }
 
     private Estudiante convertToEntity(EstudianteDTO dto) {
@@ -130,27 +244,56 @@ public class EstudianteService {
         return estudiante;
     }
 
-    private void updateCursoRelationships(Integer estudianteId, List<Integer> cursoIds) {
-        // Eliminar relaciones existentes
-        postgresJdbcTemplate.update("DELETE FROM estudiante_curso WHERE estudiante_id = ?", estudianteId);
+    // Sincroniza las relaciones con la lista recibida: solo borra las que sobran e inserta las que faltan,
+    // cada grupo con una sola sentencia sin importar cuántos IDs traiga
+    private SincronizacionRelacionesDTO updateCursoRelationships(Integer estudianteId, Collection<Integer> cursoIds) {
+        return sincronizarRelaciones("estudiante_curso", "curso_id", "integer", estudianteId, cursoIds, Integer.class,
+                nominaService::invalidarInscritos);
+    }
 
-        // Insertar nuevas relaciones
-        for (Integer cursoId : cursoIds) {
-            postgresJdbcTemplate.update(
-                    "INSERT INTO estudiante_curso (estudiante_id, curso_id) VALUES (?, ?) ON CONFLICT DO NOTHING",
-                    estudianteId, cursoId);
-        }
+    private SincronizacionRelacionesDTO updateProyectoRelationships(Integer estudianteId,
+                                                                    Collection<String> proyectoIds) {
+        return sincronizarRelaciones("estudiante_proyecto", "proyecto_id", "varchar", estudianteId, proyectoIds,
+                String.class, cambiados -> {
+                });
     }
 
-    private void updateProyectoRelationships(Integer estudianteId, List<String> proyectoIds) {
-        // Eliminar relaciones existentes
-        postgresJdbcTemplate.update("DELETE FROM estudiante_proyecto WHERE estudiante_id = ?", estudianteId);
+    private <T> SincronizacionRelacionesDTO sincronizarRelaciones(String tabla, String columna, String tipoSql,
+                                                                  Integer estudianteId, Collection<T> ids,
+                                                                  Class<T> tipo, Consumer<List<T>> alCambiar) {
+        Set<T> actuales = new HashSet<>(postgresJdbcTemplate.queryForList(
+                "SELECT " + columna + " FROM " + tabla + " WHERE estudiante_id = ?", tipo, estudianteId));
+        Set<T> deseados = new LinkedHashSet<>(ids);
+        deseados.remove(null);
+
+        List<T> eliminar = actuales.stream().filter(id -> !deseados.contains(id)).collect(Collectors.toList());
+        List<T> agregar = deseados.stream().filter(id -> !actuales.contains(id)).collect(Collectors.toList());
+
+        int eliminados = 0;
+        if (!eliminar.isEmpty()) {
+            PreparedStatementSetter borrar = ps -> {
+                ps.setInt(1, estudianteId);
+                ps.setArray(2, ps.getConnection().createArrayOf(tipoSql, eliminar.toArray()));
+            };
+            eliminados = postgresJdbcTemplate.update(
+                    "DELETE FROM " + tabla + " WHERE estudiante_id = ? AND " + columna + " = ANY(?)", borrar);
+        }
+
+        int agregados = 0;
+        if (!agregar.isEmpty()) {
+            PreparedStatementSetter insertar = ps -> {
+                ps.setInt(1, estudianteId);
+                ps.setArray(2, ps.getConnection().createArrayOf(tipoSql, agregar.toArray()));
+            };
+            agregados = postgresJdbcTemplate.update("INSERT INTO " + tabla + " (estudiante_id, " + columna + ")"
+                    + " SELECT ?, unnest(?) ON CONFLICT DO NOTHING", insertar);
+        }
 
-        // Insertar nuevas relaciones
-        for (String proyectoId : proyectoIds) {
-            postgresJdbcTemplate.update(
-                    "INSERT INTO estudiante_proyecto (estudiante_id, proyecto_id) VALUES (?, ?) ON CONFLICT DO NOTHING",
-                    estudianteId, proyectoId);
+        if (agregados + eliminados > 0) {
+            List<T> cambiados = new ArrayList<>(eliminar);
+            cambiados.addAll(agregar);
+            alCambiar.accept(cambiados);
         }
+        return new SincronizacionRelacionesDTO(agregados, eliminados);
     }
 }
@@ -0,0 +1,406 @@
+package pe.edu.utp.gestionacademicautp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import pe.edu.utp.gestionacademicautp.dto.ErrorImportacionDTO;
+import pe.edu.utp.gestionacademicautp.dto.ResultadoImportacionDTO;
+import pe.edu.utp.gestionacademicautp.model.cassandra.Profesor;
+import pe.edu.utp.gestionacademicautp.model.mongo.ProyectoInvestigacion;
+import pe.edu.utp.gestionacademicautp.repository.cassandra.ProfesorTablasConsulta;
+import pe.edu.utp.gestionacademicautp.service.ContadoresDashboardService.Entidad;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Importación masiva por lotes: lee el archivo a medida que llega, valida cada fila y escribe
+// los lotes con la operación masiva de cada almacén. Las filas inválidas se informan sin detener la carga.
+@Service
+@RequiredArgsConstructor
+public class ImportacionService {
+
+    public enum Formato {
+        CSV, NDJSON
+    }
+
+    private static final String INSERTAR_ESTUDIANTE =
+            "INSERT INTO estudiante (nombre, apellido, correo, fecha_nacimiento) VALUES (?, ?, ?, ?)";
+    private static final String INSERTAR_CURSO = "INSERT INTO cursos (nombre, codigo, creditos) VALUES (?, ?, ?)";
+    private static final String INSERTAR_MATRICULA =
+            "INSERT INTO estudiante_curso (estudiante_id, curso_id) VALUES (?, ?) ON CONFLICT DO NOTHING";
+
+    private final ObjectMapper objectMapper;
+    @Qualifier("postgresJdbcTemplate")
+    private final JdbcTemplate postgresJdbcTemplate;
+    @Qualifier("mysqlJdbcTemplate")
+    private final JdbcTemplate mysqlJdbcTemplate;
+    @Qualifier("postgresTransactionManager")
+    private final PlatformTransactionManager postgresTransactionManager;
+    @Qualifier("mysqlTransactionManager")
+    private final PlatformTransactionManager mysqlTransactionManager;
+    private final ProfesorTablasConsulta profesorTablasConsulta;
+    private final MongoTemplate mongoTemplate;
+    private final ContadoresDashboardService contadores;
+    private final ReporteIntegralEstudianteService reporteService;
+    private final CacheManager cacheManager;
+    private final BusquedaService busquedaService;
+    private final NominaService nominaService;
+    private final CatalogoCursos catalogoCursos;
+
+    @Value("${app.importacion.tamano-lote:1000}")
+    private int tamanoLotePorDefecto;
+
+    @Value("${app.importacion.tamano-lote-maximo:10000}")
+    private int tamanoLoteMaximo;
+
+    // Escrituras asíncronas pendientes a la vez en Cassandra al importar profesores
+    @Value("${app.importacion.profesores.max-en-vuelo:64}")
+    private int maximoEscriturasEnVuelo;
+
+    @Value("${app.importacion.max-errores-informados:1000}")
+    private int maxErroresInformados;
+
+    // Destino de una importación: convierte cada fila (lanza IllegalArgumentException si no es válida)
+    // y escribe lotes completos, devolviendo los errores por posición dentro del lote
+    private interface Destino<T> {
+        T convertir(Map<String, String> fila);
+
+        Map<Integer, String> escribir(List<T> lote);
+
+        void despuesDelLote(List<T> escritos);
+    }
+
+    public static boolean esEntidadValida(String entidad) {
+        return Set.of("estudiantes", "cursos", "profesores", "proyectos", "matriculas").contains(entidad);
+    }
+
+    public ResultadoImportacionDTO importar(String entidad, Formato formato, InputStream entrada, Integer tamanoLote)
+            throws IOException {
+        int lote = tamanoLote != null ? Math.max(1, Math.min(tamanoLote, tamanoLoteMaximo)) : tamanoLotePorDefecto;
+        return switch (entidad) {
+            case "estudiantes" -> importar(entidad, estudiantes(), formato, entrada, lote);
+            case "cursos" -> importar(entidad, cursos(), formato, entrada, lote);
+            case "profesores" -> importar(entidad, profesores(), formato, entrada, lote);
+            case "proyectos" -> importar(entidad, proyectos(), formato, entrada, lote);
+            case "matriculas" -> importar(entidad, matriculas(), formato, entrada, lote);
+            default -> throw new IllegalArgumentException("Entidad no soportada: " + entidad);
+        };
+    }
+
+    private <T> ResultadoImportacionDTO importar(String entidad, Destino<T> destino, Formato formato,
+                                                 InputStream entrada, int tamanoLote) throws IOException {
+        long inicio = System.currentTimeMillis();
+        Progreso progreso = new Progreso();
+        List<T> lote = new ArrayList<>(tamanoLote);
+        List<Long> filasDelLote = new ArrayList<>(tamanoLote);
+
+        LectorFilasImportacion.leer(entrada, formato, objectMapper, new LectorFilasImportacion.ManejadorFila() {
+            @Override
+            public void fila(long numero, Map<String, String> valores) {
+                progreso.procesadas++;
+                try {
+                    lote.add(destino.convertir(valores));
+                    filasDelLote.add(numero);
+                } catch (IllegalArgumentException e) {
+                    progreso.registrarError(numero, e.getMessage());
+                    return;
+                }
+                if (lote.size() == tamanoLote) {
+                    escribirLote(destino, lote, filasDelLote, progreso);
+                }
+            }
+
+            @Override
+            public void errorFormato(long numero, String mensaje) {
+                progreso.procesadas++;
+                progreso.registrarError(numero, mensaje);
+            }
+        });
+        escribirLote(destino, lote, filasDelLote, progreso);
+
+        return new ResultadoImportacionDTO(entidad, progreso.procesadas, progreso.importadas, progreso.conError,
+                progreso.errores, progreso.conError > progreso.errores.size(),
+                System.currentTimeMillis() - inicio);
+    }
+
+    private <T> void escribirLote(Destino<T> destino, List<T> lote, List<Long> filasDelLote, Progreso progreso) {
+        if (lote.isEmpty()) {
+            return;
+        }
+        Map<Integer, String> errores = destino.escribir(lote);
+        List<T> escritos = new ArrayList<>(lote.size());
+        for (int i = 0; i < lote.size(); i++) {
+            String error = errores.get(i);
+            if (error != null) {
+                progreso.registrarError(filasDelLote.get(i), error);
+            } else {
+                escritos.add(lote.get(i));
+            }
+        }
+        progreso.importadas += escritos.size();
+        if (!escritos.isEmpty()) {
+            destino.despuesDelLote(escritos);
+        }
+        lote.clear();
+        filasDelLote.clear();
+    }
+
+    private Destino<Object[]> estudiantes() {
+        return new Destino<>() {
+            @Override
+            public Object[] convertir(Map<String, String> fila) {
+                String correo = requerido(fila, "correo");
+                if (!correo.contains("@")) {
+                    throw new IllegalArgumentException("correo inválido: " + correo);
+                }
+                return new Object[]{requerido(fila, "nombre"), requerido(fila, "apellido"), correo,
+                        fecha(fila, "fecha_nacimiento")};
+            }
+
+            @Override
+            public Map<Integer, String> escribir(List<Object[]> lote) {
+                return escribirJdbc(postgresJdbcTemplate, postgresTransactionManager, INSERTAR_ESTUDIANTE, lote);
+            }
+
+            @Override
+            public void despuesDelLote(List<Object[]> escritos) {
+                contadores.incrementar(Entidad.ESTUDIANTES, escritos.size());
+                // El insert por lotes no devuelve los ids generados: el índice relee la tabla
+                busquedaService.solicitarReconstruccion(BusquedaService.Tipo.ESTUDIANTES);
+            }
+        };
+    }
+
+    private Destino<Object[]> cursos() {
+        return new Destino<>() {
+            @Override
+            public Object[] convertir(Map<String, String> fila) {
+                Integer creditos = entero(fila, "creditos");
+                return new Object[]{requerido(fila, "nombre"), requerido(fila, "codigo"),
+                        creditos != null ? creditos : 3};
+            }
+
+            @Override
+            public Map<Integer, String> escribir(List<Object[]> lote) {
+                return escribirJdbc(mysqlJdbcTemplate, mysqlTransactionManager, INSERTAR_CURSO, lote);
+            }
+
+            @Override
+            public void despuesDelLote(List<Object[]> escritos) {
+                contadores.incrementar(Entidad.CURSOS, escritos.size());
+                catalogoCursos.recargarDespuesDelCommit();
+            }
+        };
+    }
+
+    private Destino<Object[]> matriculas() {
+        return new Destino<>() {
+            @Override
+            public Object[] convertir(Map<String, String> fila) {
+                return new Object[]{enteroRequerido(fila, "estudianteId"), enteroRequerido(fila, "cursoId")};
+            }
+
+            @Override
+            public Map<Integer, String> escribir(List<Object[]> lote) {
+                return escribirJdbc(postgresJdbcTemplate, postgresTransactionManager, INSERTAR_MATRICULA, lote);
+            }
+
+            @Override
+            public void despuesDelLote(List<Object[]> escritos) {
+                Set<Integer> estudiantes = new LinkedHashSet<>();
+                Set<Integer> cursos = new LinkedHashSet<>();
+                escritos.forEach(fila -> {
+                    estudiantes.add((Integer) fila[0]);
+                    cursos.add((Integer) fila[1]);
+                });
+                reporteService.invalidarCacheReportes(estudiantes);
+                nominaService.invalidarInscritos(cursos);
+            }
+        };
+    }
+
+    private Destino<Profesor> profesores() {
+        return new Destino<>() {
+            @Override
+            public Profesor convertir(Map<String, String> fila) {
+                Profesor profesor = new Profesor(requerido(fila, "nombre"), requerido(fila, "apellido"),
+                        requerido(fila, "correo"), fila.get("especialidad"), fila.get("telefono"),
+                        fila.get("gradoAcademico"), entero(fila, "anosExperiencia"));
+                String activo = fila.get("activo");
+                if (activo != null) {
+                    if (!activo.equalsIgnoreCase("true") && !activo.equalsIgnoreCase("false")) {
+                        throw new IllegalArgumentException("activo debe ser true o false: " + activo);
+                    }
+                    profesor.setActivo(Boolean.parseBoolean(activo));
+                }
+                String cursoIds = fila.get("cursoIds");
+                if (cursoIds != null) {
+                    try {
+                        profesor.setCursoIds(Arrays.stream(cursoIds.split(";"))
+                                .map(String::trim)
+                                .filter(id -> !id.isEmpty())
+                                .map(Integer::valueOf)
+                                .collect(Collectors.toSet()));
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("cursoIds debe ser una lista de enteros: " + cursoIds);
+                    }
+                }
+                return profesor;
+            }
+
+            @Override
+            public Map<Integer, String> escribir(List<Profesor> lote) {
+                List<CompletableFuture<Void>> envios = profesorTablasConsulta.guardarLoteAsync(lote, maximoEscriturasEnVuelo);
+                Map<Integer, String> errores = new HashMap<>();
+                for (int i = 0; i < envios.size(); i++) {
+                    try {
+                        envios.get(i).join();
+                    } catch (CompletionException e) {
+                        Throwable causa = e.getCause() != null ? e.getCause() : e;
+                        errores.put(i, causa.getMessage());
+                    }
+                }
+                return errores;
+            }
+
+            @Override
+            public void despuesDelLote(List<Profesor> escritos) {
+                contadores.incrementar(Entidad.PROFESORES, escritos.size());
+                invalidarListado("profesores-todos");
+                escritos.forEach(busquedaService::indexarProfesor);
+            }
+        };
+    }
+
+    private Destino<ProyectoInvestigacion> proyectos() {
+        return new Destino<>() {
+            @Override
+            public ProyectoInvestigacion convertir(Map<String, String> fila) {
+                ProyectoInvestigacion proyecto = new ProyectoInvestigacion();
+                proyecto.setId(fila.get("id"));
+                proyecto.setTitulo(requerido(fila, "titulo"));
+                proyecto.setResumen(fila.get("resumen"));
+                proyecto.setFechaInicio(fila.get("fechaInicio"));
+                proyecto.setFechaFin(fila.get("fechaFin"));
+                return proyecto;
+            }
+
+            // Un solo insertMany desordenado por lote: un documento inválido no detiene al resto
+            @Override
+            public Map<Integer, String> escribir(List<ProyectoInvestigacion> lote) {
+                try {
+                    mongoTemplate.bulkOps(BulkMode.UNORDERED, ProyectoInvestigacion.class).insert(lote).execute();
+                    return Map.of();
+                } catch (BulkOperationException e) {
+                    Map<Integer, String> errores = new HashMap<>();
+                    e.getErrors().forEach(error -> errores.put(error.getIndex(), error.getMessage()));
+                    return errores;
+                }
+            }
+
+            @Override
+            public void despuesDelLote(List<ProyectoInvestigacion> escritos) {
+                contadores.incrementar(Entidad.PROYECTOS, escritos.size());
+                invalidarListado("proyectos-todos");
+                // bulkOps no asigna los ObjectId generados a los documentos: el índice relee la colección
+                busquedaService.solicitarReconstruccion(BusquedaService.Tipo.PROYECTOS);
+            }
+        };
+    }
+
+    // Las filas nuevas no están en las entradas por ID, pero sí dejan desactualizado el listado completo
+    private void invalidarListado(String region) {
+        Cache cache = cacheManager.getCache(region);
+        if (cache != null) {
+            cache.evict("todos");
+        }
+    }
+
+    // Escribe el lote con un batch JDBC en una sola transacción. Si falla (p. ej. un código duplicado),
+    // se revierte y se reintenta fila por fila para identificar exactamente qué filas no entran.
+    private Map<Integer, String> escribirJdbc(JdbcTemplate jdbcTemplate, PlatformTransactionManager transacciones,
+                                              String sql, List<Object[]> lote) {
+        try {
+            new TransactionTemplate(transacciones).executeWithoutResult(estado -> jdbcTemplate.batchUpdate(sql, lote));
+            return Map.of();
+        } catch (DataAccessException e) {
+            Map<Integer, String> errores = new HashMap<>();
+            for (int i = 0; i < lote.size(); i++) {
+                try {
+                    jdbcTemplate.update(sql, lote.get(i));
+                } catch (DataAccessException errorFila) {
+                    errores.put(i, errorFila.getMostSpecificCause().getMessage());
+                }
+            }
+            return errores;
+        }
+    }
+
+    private static String requerido(Map<String, String> fila, String campo) {
+        String valor = fila.get(campo);
+        if (valor == null || valor.isBlank()) {
+            throw new IllegalArgumentException("Falta el campo obligatorio '" + campo + "'");
+        }
+        return valor;
+    }
+
+    private static Integer enteroRequerido(Map<String, String> fila, String campo) {
+        return convertir(campo, requerido(fila, campo), Integer::valueOf);
+    }
+
+    private static Integer entero(Map<String, String> fila, String campo) {
+        String valor = fila.get(campo);
+        return valor != null ? convertir(campo, valor, Integer::valueOf) : null;
+    }
+
+    private static LocalDate fecha(Map<String, String> fila, String campo) {
+        String valor = fila.get(campo);
+        return valor != null ? convertir(campo, valor, LocalDate::parse) : null;
+    }
+
+    private static <T> T convertir(String campo, String valor, Function<String, T> conversion) {
+        try {
+            return conversion.apply(valor.trim());
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Valor inválido en '" + campo + "': " + valor);
+        }
+    }
+
+    private class Progreso {
+        private long procesadas;
+        private long importadas;
+        private long conError;
+        private final List<ErrorImportacionDTO> errores = new ArrayList<>();
+
+        void registrarError(long fila, String mensaje) {
+            conError++;
+            if (errores.size() < maxErroresInformados) {
+                errores.add(new ErrorImportacionDTO(fila, mensaje));
+            }
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package pe.edu.utp.gestionacademicautp.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+// Índice invertido en memoria: término normalizado (minúsculas, sin tildes) -> documentos que lo contienen.
+// Los términos están ordenados, así que un prefijo es un rango del mapa; las erratas se toleran comparando
+// la consulta contra el inicio de cada término con la misma primera letra (distancia de edición acotada).
+// Las búsquedas comparten el lock de lectura; indexar y eliminar toman el de escritura.
+final class IndiceInvertido {
+
+    // Peso de un término según el campo en que aparece: el título pesa más que el texto complementario
+    static final int PESO_TITULO = 2;
+    static final int PESO_TEXTO = 1;
+
+    // Puntos por término de la consulta según qué tan bien coincide
+    private static final int PUNTOS_EXACTA = 3;
+    private static final int PUNTOS_PREFIJO = 2;
+    private static final int PUNTOS_APROXIMADA = 1;
+
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+
+    record Documento(String clave, String titulo, String detalle) {
+    }
+
+    // Documento con los textos a tokenizar: los del título pesan PESO_TITULO y el resto PESO_TEXTO
+    record DocumentoIndexable(Documento documento, String textoTitulo, String texto) {
+    }
+
+    record Resultado(Documento documento, int puntaje) {
+    }
+
+    private record Entrada(Documento documento, Map<String, Integer> terminos) {
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, Map<String, Integer>> terminos = new TreeMap<>();
+    private final Map<String, Entrada> documentos = new HashMap<>();
+
+    // Última escritura incremental por clave: una reconstrucción no pisa lo escrito después de empezar a leer
+    private final Map<String, Long> escrituras = new HashMap<>();
+    private long secuencia;
+
+    // Indexa el documento, o lo reemplaza si ya estaba
+    void indexar(DocumentoIndexable indexable) {
+        lock.writeLock().lock();
+        try {
+            escrituras.put(indexable.documento().clave(), ++secuencia);
+            reemplazar(indexable);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void eliminar(String clave) {
+        lock.writeLock().lock();
+        try {
+            escrituras.put(clave, ++secuencia);
+            quitar(clave);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Marca a pasar a reemplazarGrupo: lo indexado o eliminado después se considera más nuevo que lo leído
+    long marca() {
+        lock.readLock().lock();
+        try {
+            return secuencia;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Reemplaza todos los documentos cuya clave cumple el predicado por los leídos del almacén, salvo los
+    // que tuvieron una escritura incremental posterior a la marca tomada antes de leer
+    void reemplazarGrupo(Predicate<String> grupo, Collection<DocumentoIndexable> leidos, long marca) {
+        lock.writeLock().lock();
+        try {
+            Set<String> vigentes = new HashSet<>();
+            for (DocumentoIndexable leido : leidos) {
+                String clave = leido.documento().clave();
+                vigentes.add(clave);
+                if (escrituras.getOrDefault(clave, Long.MIN_VALUE) <= marca) {
+                    reemplazar(leido);
+                }
+            }
+            List<String> sobrantes = new ArrayList<>();
+            for (String clave : documentos.keySet()) {
+                if (grupo.test(clave) && !vigentes.contains(clave)
+                        && escrituras.getOrDefault(clave, Long.MIN_VALUE) <= marca) {
+                    sobrantes.add(clave);
+                }
+            }
+            sobrantes.forEach(this::quitar);
+            // Las escrituras anteriores a la marca ya quedaron reflejadas en lo leído
+            escrituras.entrySet().removeIf(e -> grupo.test(e.getKey()) && e.getValue() <= marca);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Todos los términos de la consulta deben coincidir (exacto, prefijo o con una errata); el último suele
+    // estar a medio escribir, por eso todos se tratan como prefijos
+    List<Resultado> buscar(String consulta, Predicate<String> filtro, int maximo) {
+        List<String> tokens = new ArrayList<>(tokenizar(consulta));
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Map<String, Integer> acumulado = null;
+            for (String token : tokens) {
+                Map<String, Integer> delToken = puntuar(token, filtro);
+                if (acumulado == null) {
+                    acumulado = delToken;
+                } else {
+                    Iterator<Map.Entry<String, Integer>> it = acumulado.entrySet().iterator();
+                    while (it.hasNext()) {
+                        Map.Entry<String, Integer> entrada = it.next();
+                        Integer puntos = delToken.get(entrada.getKey());
+                        if (puntos == null) {
+                            it.remove();
+                        } else {
+                            entrada.setValue(entrada.getValue() + puntos);
+                        }
+                    }
+                }
+                if (acumulado.isEmpty()) {
+                    return List.of();
+                }
+            }
+            List<Resultado> resultados = new ArrayList<>(acumulado.size());
+            acumulado.forEach((clave, puntaje) ->
+                    resultados.add(new Resultado(documentos.get(clave).documento(), puntaje)));
+            resultados.sort(Comparator.comparingInt(Resultado::puntaje).reversed()
+                    .thenComparing(r -> r.documento().titulo(), String.CASE_INSENSITIVE_ORDER)
+                    .thenComparing(r -> r.documento().clave()));
+            return resultados.size() > maximo ? new ArrayList<>(resultados.subList(0, maximo)) : resultados;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int tamano() {
+        lock.readLock().lock();
+        try {
+            return documentos.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Mejor puntaje de cada documento para un término de la consulta
+    private Map<String, Integer> puntuar(String token, Predicate<String> filtro) {
+        Map<String, Integer> puntajes = new HashMap<>();
+        String finPrefijo = token + Character.MAX_VALUE;
+        for (Map.Entry<String, Map<String, Integer>> termino
+                : terminos.subMap(token, true, finPrefijo, false).entrySet()) {
+            int puntos = termino.getKey().equals(token) ? PUNTOS_EXACTA : PUNTOS_PREFIJO;
+            sumarMejor(puntajes, termino.getValue(), puntos, filtro);
+        }
+
+        int erratas = erratasPermitidas(token);
+        if (erratas > 0) {
+            // Misma primera letra: casi nunca es ahí donde está la errata y reduce mucho los candidatos
+            String inicio = token.substring(0, 1);
+            String fin = inicio + Character.MAX_VALUE;
+            for (Map.Entry<String, Map<String, Integer>> termino
+                    : terminos.subMap(inicio, true, fin, false).entrySet()) {
+                if (!termino.getKey().startsWith(token)
+                        && distanciaAlPrefijo(token, termino.getKey(), erratas) <= erratas) {
+                    sumarMejor(puntajes, termino.getValue(), PUNTOS_APROXIMADA, filtro);
+                }
+            }
+        }
+        return puntajes;
+    }
+
+    private void sumarMejor(Map<String, Integer> puntajes, Map<String, Integer> documentosDelTermino, int puntos,
+                            Predicate<String> filtro) {
+        documentosDelTermino.forEach((clave, peso) -> {
+            if (filtro.test(clave)) {
+                puntajes.merge(clave, puntos * peso, Math::max);
+            }
+        });
+    }
+
+    private void reemplazar(DocumentoIndexable indexable) {
+        Documento documento = indexable.documento();
+        quitar(documento.clave());
+        Map<String, Integer> propios = new HashMap<>();
+        tokenizar(indexable.texto()).forEach(termino -> propios.put(termino, PESO_TEXTO));
+        tokenizar(indexable.textoTitulo()).forEach(termino -> propios.put(termino, PESO_TITULO));
+        propios.forEach((termino, peso) ->
+                terminos.computeIfAbsent(termino, t -> new HashMap<>()).put(documento.clave(), peso));
+        documentos.put(documento.clave(), new Entrada(documento, propios));
+    }
+
+    private void quitar(String clave) {
+        Entrada anterior = documentos.remove(clave);
+        if (anterior == null) {
+            return;
+        }
+        for (String termino : anterior.terminos().keySet()) {
+            Map<String, Integer> conTermino = terminos.get(termino);
+            if (conTermino != null) {
+                conTermino.remove(clave);
+                if (conTermino.isEmpty()) {
+                    terminos.remove(termino);
+                }
+            }
+        }
+    }
+
+    // Minúsculas y sin tildes ("José" -> "jose"); los correos se separan en sus partes y además se
+    // indexan completos para poder buscar "jperez@" tal cual
+    static Set<String> tokenizar(String texto) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (texto == null || texto.isBlank()) {
+            return tokens;
+        }
+        String normalizado = MARCAS_DIACRITICAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        for (String palabra : normalizado.split("\\s+")) {
+            if (palabra.indexOf('@') > 0) {
+                tokens.add(palabra);
+            }
+        }
+        for (String token : SEPARADORES.split(normalizado)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    // Sin erratas en términos cortos: "ana" con una errata coincide con demasiadas palabras
+    static int erratasPermitidas(String token) {
+        if (token.length() < 4) {
+            return 0;
+        }
+        return token.length() < 8 ? 1 : 2;
+    }
+
+    // Distancia de edición (con transposiciones) entre la consulta y el prefijo del término más parecido
+    static int distanciaAlPrefijo(String consulta, String termino, int maximo) {
+        int n = consulta.length();
+        int m = Math.min(termino.length(), n + maximo);
+        if (m < n - maximo) {
+            return maximo + 1;
+        }
+        int[][] d = new int[n + 1][m + 1];
+        for (int j = 0; j <= m; j++) {
+            d[0][j] = j;
+        }
+        for (int i = 1; i <= n; i++) {
+            d[i][0] = i;
+            int minimoFila = d[i][0];
+            for (int j = 1; j <= m; j++) {
+                int costo = consulta.charAt(i - 1) == termino.charAt(j - 1) ? 0 : 1;
+                d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + costo);
+                if (i > 1 && j > 1 && consulta.charAt(i - 1) == termino.charAt(j - 2)
+                        && consulta.charAt(i - 2) == termino.charAt(j - 1)) {
+                    d[i][j] = Math.min(d[i][j], d[i - 2][j - 2] + 1);
+                }
+                minimoFila = Math.min(minimoFila, d[i][j]);
+            }
+            if (minimoFila > maximo) {
+                return maximo + 1;
+            }
+        }
+        int mejor = maximo + 1;
+        for (int j = Math.max(0, n - maximo); j <= m; j++) {
+            mejor = Math.min(mejor, d[n][j]);
+        }
+        return mejor;
+    }
+}
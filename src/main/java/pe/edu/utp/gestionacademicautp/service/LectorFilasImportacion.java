@@ -0,0 +1,160 @@
+package pe.edu.utp.gestionacademicautp.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+// Lee un archivo CSV (con encabezado) o NDJSON registro por registro, sin cargarlo completo en memoria.
+// Los valores llegan como texto: cada importador los valida y convierte.
+final class LectorFilasImportacion {
+
+    interface ManejadorFila {
+        void fila(long numero, Map<String, String> valores);
+
+        void errorFormato(long numero, String mensaje);
+    }
+
+    private LectorFilasImportacion() {
+    }
+
+    static void leer(InputStream entrada, ImportacionService.Formato formato, ObjectMapper objectMapper,
+                     ManejadorFila manejador) throws IOException {
+        BufferedReader lector = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+        if (formato == ImportacionService.Formato.CSV) {
+            leerCsv(lector, manejador);
+        } else {
+            leerNdjson(lector, objectMapper, manejador);
+        }
+    }
+
+    private static void leerNdjson(BufferedReader lector, ObjectMapper objectMapper, ManejadorFila manejador)
+            throws IOException {
+        String linea;
+        long numero = 0;
+        while ((linea = lector.readLine()) != null) {
+            numero++;
+            if (linea.isBlank()) {
+                continue;
+            }
+            JsonNode nodo;
+            try {
+                nodo = objectMapper.readTree(linea);
+            } catch (JsonProcessingException e) {
+                manejador.errorFormato(numero, "JSON inválido: " + e.getOriginalMessage());
+                continue;
+            }
+            if (!nodo.isObject()) {
+                manejador.errorFormato(numero, "Se esperaba un objeto JSON por línea");
+                continue;
+            }
+            Map<String, String> valores = new HashMap<>();
+            nodo.properties().forEach(campo -> valores.put(campo.getKey(), texto(campo.getValue())));
+            manejador.fila(numero, valores);
+        }
+    }
+
+    // Los arreglos se aplanan con ';' para que CSV y NDJSON lleguen igual a los importadores
+    private static String texto(JsonNode valor) {
+        if (valor.isNull()) {
+            return null;
+        }
+        if (valor.isArray()) {
+            StringJoiner elementos = new StringJoiner(";");
+            valor.forEach(elemento -> elementos.add(elemento.asText()));
+            return elementos.toString();
+        }
+        return valor.isValueNode() ? valor.asText() : valor.toString();
+    }
+
+    private static void leerCsv(BufferedReader lector, ManejadorFila manejador) throws IOException {
+        long[] lineasLeidas = {0};
+        List<String> encabezado = leerRegistro(lector, lineasLeidas);
+        if (encabezado == null) {
+            return;
+        }
+        List<String> columnas = new ArrayList<>(encabezado.size());
+        for (String columna : encabezado) {
+            columnas.add(columna.replace("\uFEFF", "").trim());
+        }
+
+        while (true) {
+            long numero = lineasLeidas[0] + 1;
+            List<String> campos = leerRegistro(lector, lineasLeidas);
+            if (campos == null) {
+                return;
+            }
+            if (campos.size() == 1 && campos.get(0).isBlank()) {
+                continue;
+            }
+            if (campos.size() != columnas.size()) {
+                manejador.errorFormato(numero,
+                        "Se esperaban " + columnas.size() + " columnas y llegaron " + campos.size());
+                continue;
+            }
+            Map<String, String> valores = new HashMap<>();
+            for (int i = 0; i < columnas.size(); i++) {
+                String valor = campos.get(i).trim();
+                valores.put(columnas.get(i), valor.isEmpty() ? null : valor);
+            }
+            manejador.fila(numero, valores);
+        }
+    }
+
+    // Un registro CSV (RFC 4180): separador ',', comillas dobles y campos entre comillas que ocupan varias líneas
+    private static List<String> leerRegistro(BufferedReader lector, long[] lineasLeidas) throws IOException {
+        String linea = lector.readLine();
+        if (linea == null) {
+            return null;
+        }
+        lineasLeidas[0]++;
+
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreComillas = false;
+        int i = 0;
+        while (true) {
+            if (i == linea.length()) {
+                String siguiente = entreComillas ? lector.readLine() : null;
+                if (siguiente == null) {
+                    break;
+                }
+                lineasLeidas[0]++;
+                campo.append('\n');
+                linea = siguiente;
+                i = 0;
+                continue;
+            }
+            char c = linea.charAt(i++);
+            if (entreComillas) {
+                if (c != '"') {
+                    campo.append(c);
+                } else if (i < linea.length() && linea.charAt(i) == '"') {
+                    campo.append('"');
+                    i++;
+                } else {
+                    entreComillas = false;
+                }
+            } else if (c == '"') {
+                entreComillas = true;
+            } else if (c == ',') {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else {
+                campo.append(c);
+            }
+        }
+        campos.add(campo.toString());
+        return campos;
+    }
+}
@@ -0,0 +1,110 @@
+package pe.edu.utp.gestionacademicautp.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import pe.edu.utp.gestionacademicautp.exception.IntentosExcedidosException;
+
+import java.util.List;
+
+// Límite de intentos fallidos de login por usuario y por IP, con contadores en Redis compartidos por todos
+// los nodos. Si Redis no responde no se bloquea el login (el límite es una protección, no un requisito).
+// Cada intento se reserva antes de verificar la contraseña y cuenta como fallido hasta que se resuelve, así
+// varios intentos simultáneos contra el mismo usuario no pasan todos el límite.
+@Component
+public class LimitadorIntentosLogin {
+
+    // Incrementa ambos contadores (la ventana se fija en el primero) y, si alguno pasa su máximo, deshace la
+    // reserva y devuelve su posición (1 usuario, 2 IP); 0 si el intento puede seguir. Todo en un solo viaje
+    private static final RedisScript<Long> RESERVAR = new DefaultRedisScript<>(
+            "local excedida = 0 "
+                    + "for i, clave in ipairs(KEYS) do "
+                    + "local intentos = redis.call('INCR', clave) "
+                    + "if intentos == 1 then redis.call('EXPIRE', clave, ARGV[1]) end "
+                    + "if excedida == 0 and intentos > tonumber(ARGV[i + 1]) then excedida = i end "
+                    + "end "
+                    + "if excedida > 0 then for i, clave in ipairs(KEYS) do "
+                    + "if redis.call('DECR', clave) <= 0 then redis.call('DEL', clave) end "
+                    + "end end "
+                    + "return excedida",
+            Long.class);
+
+    // Devuelve la reserva de cada clave; con ARGV[1] = '1' la primera (el usuario) se reinicia por completo
+    private static final RedisScript<Long> LIBERAR = new DefaultRedisScript<>(
+            "for i, clave in ipairs(KEYS) do "
+                    + "if i == 1 and ARGV[1] == '1' then redis.call('DEL', clave) "
+                    + "elseif redis.call('DECR', clave) <= 0 then redis.call('DEL', clave) end "
+                    + "end return 1",
+            Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final int maxPorUsuario;
+    private final int maxPorIp;
+    private final long ventanaSegundos;
+
+    public LimitadorIntentosLogin(StringRedisTemplate stringRedisTemplate,
+                                  @Value("${app.seguridad.intentos.max-por-usuario:5}") int maxPorUsuario,
+                                  @Value("${app.seguridad.intentos.max-por-ip:20}") int maxPorIp,
+                                  @Value("${app.seguridad.intentos.ventana-segundos:900}") long ventanaSegundos) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.maxPorUsuario = maxPorUsuario;
+        this.maxPorIp = maxPorIp;
+        this.ventanaSegundos = ventanaSegundos;
+    }
+
+    // Reserva un intento para el usuario y la IP, o lanza IntentosExcedidosException si alguno ya llegó a su
+    // máximo. Si nadie la libera, la reserva queda contada como un intento fallido
+    public void reservar(String username, String ip) {
+        String claveUsuario = claveUsuario(username);
+        String claveIp = claveIp(ip);
+        Long excedida;
+        try {
+            excedida = stringRedisTemplate.execute(RESERVAR, List.of(claveUsuario, claveIp),
+                    String.valueOf(ventanaSegundos), String.valueOf(maxPorUsuario), String.valueOf(maxPorIp));
+        } catch (Exception e) {
+            System.err.println("Error reservando intento de login: " + e.getMessage());
+            return;
+        }
+        if (excedida == null || excedida == 0) {
+            return;
+        }
+        if (excedida == 1) {
+            throw new IntentosExcedidosException("Demasiados intentos fallidos para el usuario", espera(claveUsuario));
+        }
+        throw new IntentosExcedidosException("Demasiados intentos fallidos desde esta dirección", espera(claveIp));
+    }
+
+    // Un login correcto reinicia el contador del usuario y devuelve la reserva de la IP (que sigue su ventana)
+    public void registrarExito(String username, String ip) {
+        liberar(username, ip, true);
+    }
+
+    // El intento no llegó a resolverse (servicio saturado, tiempo agotado, error): no cuenta como fallido
+    public void liberar(String username, String ip) {
+        liberar(username, ip, false);
+    }
+
+    private void liberar(String username, String ip, boolean reiniciarUsuario) {
+        try {
+            stringRedisTemplate.execute(LIBERAR, List.of(claveUsuario(username), claveIp(ip)),
+                    reiniciarUsuario ? "1" : "0");
+        } catch (Exception e) {
+            System.err.println("Error liberando intento de login: " + e.getMessage());
+        }
+    }
+
+    private long espera(String clave) {
+        Long ttl = stringRedisTemplate.getExpire(clave);
+        return ttl != null && ttl > 0 ? ttl : ventanaSegundos;
+    }
+
+    private static String claveUsuario(String username) {
+        return "login:intentos:usuario:" + username;
+    }
+
+    private static String claveIp(String ip) {
+        return "login:intentos:ip:" + ip;
+    }
+}
@@ -0,0 +1,114 @@
+package pe.edu.utp.gestionacademicautp.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import pe.edu.utp.gestionacademicautp.dto.EstudianteDTO;
+import pe.edu.utp.gestionacademicautp.dto.PaginaDTO;
+
+import java.sql.Date;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Nóminas: estudiantes de un curso o de un proyecto, por páginas sobre los índices inversos
+// (curso_id, estudiante_id) y (proyecto_id, estudiante_id), más el total de matriculados por curso en Redis
+@Service
+@RequiredArgsConstructor
+public class NominaService {
+
+    private static final String CLAVE_INSCRITOS = "curso:inscritos:";
+
+    private static final String ESTUDIANTES_DE_CURSO =
+            "SELECT e.id, e.nombre, e.apellido, e.correo, e.fecha_nacimiento FROM estudiante_curso ec"
+                    + " JOIN estudiante e ON e.id = ec.estudiante_id"
+                    + " WHERE ec.curso_id = ? AND ec.estudiante_id > ? ORDER BY ec.estudiante_id LIMIT ?";
+    private static final String ESTUDIANTES_DE_PROYECTO =
+            "SELECT e.id, e.nombre, e.apellido, e.correo, e.fecha_nacimiento FROM estudiante_proyecto ep"
+                    + " JOIN estudiante e ON e.id = ep.estudiante_id"
+                    + " WHERE ep.proyecto_id = ? AND ep.estudiante_id > ? ORDER BY ep.estudiante_id LIMIT ?";
+
+    private static final RowMapper<EstudianteDTO> ESTUDIANTE = (rs, fila) -> {
+        EstudianteDTO dto = new EstudianteDTO();
+        dto.setId(rs.getInt("id"));
+        dto.setNombre(rs.getString("nombre"));
+        dto.setApellido(rs.getString("apellido"));
+        dto.setCorreo(rs.getString("correo"));
+        Date fechaNacimiento = rs.getDate("fecha_nacimiento");
+        dto.setFecha_nacimiento(fechaNacimiento != null ? fechaNacimiento.toLocalDate() : null);
+        return dto;
+    };
+
+    @Qualifier("postgresJdbcTemplate")
+    private final JdbcTemplate postgresJdbcTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+
+    // Las escrituras invalidan el total del curso; el TTL acota lo que dura un total recalculado en paralelo
+    // con una matrícula y guardado después de su invalidación
+    @Value("${app.nomina.inscritos.ttl-segundos:3600}")
+    private long ttlInscritosSegundos;
+
+    public PaginaDTO<EstudianteDTO> getEstudiantesDeCurso(Integer cursoId, String cursor, int tamano) {
+        int limite = CursorPaginacion.normalizarTamano(tamano);
+        int despuesDe = cursor != null ? CursorPaginacion.decodificarEntero(cursor) : 0;
+        List<EstudianteDTO> filas = postgresJdbcTemplate.query(ESTUDIANTES_DE_CURSO, ESTUDIANTE,
+                cursoId, despuesDe, limite + 1);
+        return CursorPaginacion.armarPagina(filas, limite, EstudianteDTO::getId, Function.identity());
+    }
+
+    public PaginaDTO<EstudianteDTO> getEstudiantesDeProyecto(String proyectoId, String cursor, int tamano) {
+        int limite = CursorPaginacion.normalizarTamano(tamano);
+        int despuesDe = cursor != null ? CursorPaginacion.decodificarEntero(cursor) : 0;
+        List<EstudianteDTO> filas = postgresJdbcTemplate.query(ESTUDIANTES_DE_PROYECTO, ESTUDIANTE,
+                proyectoId, despuesDe, limite + 1);
+        return CursorPaginacion.armarPagina(filas, limite, EstudianteDTO::getId, Function.identity());
+    }
+
+    // Total de matriculados del curso: desde Redis, o contado sobre el índice inverso si no está en cache
+    public long contarInscritos(Integer cursoId) {
+        String clave = CLAVE_INSCRITOS + cursoId;
+        try {
+            String guardado = stringRedisTemplate.opsForValue().get(clave);
+            if (guardado != null) {
+                return Long.parseLong(guardado);
+            }
+        } catch (Exception e) {
+            System.err.println("Error leyendo el total de inscritos en cache: " + e.getMessage());
+        }
+
+        Long total = postgresJdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM estudiante_curso WHERE curso_id = ?", Long.class, cursoId);
+        long inscritos = total != null ? total : 0L;
+        try {
+            stringRedisTemplate.opsForValue().set(clave, String.valueOf(inscritos),
+                    Duration.ofSeconds(ttlInscritosSegundos));
+        } catch (Exception e) {
+            System.err.println("Error guardando el total de inscritos en cache: " + e.getMessage());
+        }
+        return inscritos;
+    }
+
+    // Descarta el total de los cursos cuyas matrículas cambiaron, una vez confirmada la transacción
+    public void invalidarInscritos(Collection<Integer> cursoIds) {
+        if (cursoIds.isEmpty()) {
+            return;
+        }
+        List<String> claves = cursoIds.stream()
+                .map(id -> CLAVE_INSCRITOS + id)
+                .distinct()
+                .collect(Collectors.toList());
+        DespuesDelCommit.ejecutar(() -> {
+            try {
+                stringRedisTemplate.delete(claves);
+            } catch (Exception e) {
+                System.err.println("Error invalidando el total de inscritos en cache: " + e.getMessage());
+            }
+        });
+    }
+}
@@ -0,0 +1,385 @@
+package pe.edu.utp.gestionacademicautp.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import pe.edu.utp.gestionacademicautp.model.mongo.ProyectoInvestigacion;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Outbox transaccional en PostgreSQL para los efectos de una escritura sobre los otros almacenes (relaciones
+// colgantes, caches): la escritura solo inserta un evento y el despachador lo aplica después, por lotes, con
+// reintentos. Cada manejador es idempotente, así que aplicar un evento más de una vez no cambia el resultado.
+// Las escrituras en MySQL y MongoDB no comparten transacción con PostgreSQL: dejan el evento en un outbox de su
+// propio almacén y el despachador lo traslada al de PostgreSQL antes de aplicar.
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    public enum TipoEvento {
+        // Quita las matrículas del curso en PostgreSQL y el curso de los profesores en Cassandra
+        CURSO_ELIMINADO,
+        // Quita las participaciones del proyecto en PostgreSQL
+        PROYECTO_ELIMINADO,
+        // Invalida el reporte del estudiante eliminado (sus relaciones se borran en la misma transacción)
+        ESTUDIANTE_ELIMINADO,
+        // Invalida el total de inscritos del curso
+        INSCRITOS_CAMBIADOS
+    }
+
+    private record Evento(long id, String tipo, String clave, int intentos, long demoraMs) {
+    }
+
+    private record EventoPorTrasladar(Object id, String tipo, String clave) {
+    }
+
+    private static final String TOMAR_LOTE = """
+            UPDATE outbox_evento SET proximo_intento = now() + make_interval(secs => ?)
+            WHERE id IN (SELECT id FROM outbox_evento WHERE proximo_intento <= now()
+                         ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED)
+            RETURNING id, tipo, clave, intentos, EXTRACT(EPOCH FROM (now() - creado_en)) * 1000 AS demora_ms
+            """;
+
+    // Espera máxima entre reintentos de un evento que sigue fallando
+    private static final int ESPERA_MAXIMA_SEGUNDOS = 600;
+
+    private static final String COLECCION_OUTBOX = "outbox_evento";
+
+    @Qualifier("postgresJdbcTemplate")
+    private final JdbcTemplate postgresJdbcTemplate;
+    @Qualifier("mysqlJdbcTemplate")
+    private final JdbcTemplate mysqlJdbcTemplate;
+    private final MongoTemplate mongoTemplate;
+    private final ReporteIntegralEstudianteService reporteService;
+    private final NominaService nominaService;
+    private final ProfesorService profesorService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.outbox.tamano-lote:100}")
+    private int tamanoLote;
+
+    // Tiempo que un evento tomado queda reservado para este nodo antes de que otro pueda reintentarlo
+    @Value("${app.outbox.reserva-segundos:60}")
+    private int reservaSegundos;
+
+    // El despacho corre en su propio hilo, uno a la vez: un lote lento o un almacén caído no ocupa el
+    // planificador compartido con las demás tareas programadas
+    private final ExecutorService despachador = Executors.newSingleThreadExecutor(
+            new CustomizableThreadFactory("outbox-"));
+    private final AtomicBoolean despachoEnCurso = new AtomicBoolean();
+
+    // Pendientes y antigüedad del más viejo en cada outbox (postgres, mysql, mongo). Si un almacén no responde
+    // su gauge conserva el último valor medido
+    private final Map<String, AtomicLong> pendientes = new LinkedHashMap<>();
+    private final Map<String, AtomicLong> retrasoSegundos = new LinkedHashMap<>();
+    private Meter.MeterProvider<Counter> eventos;
+    private Timer demora;
+
+    @PostConstruct
+    void registrarMetricas() {
+        for (String almacen : List.of("postgres", "mysql", "mongo")) {
+            Gauge.builder("outbox.pendientes", pendientes.computeIfAbsent(almacen, a -> new AtomicLong()),
+                            AtomicLong::get)
+                    .description("Eventos del outbox aún no aplicados")
+                    .tag("almacen", almacen)
+                    .register(meterRegistry);
+            Gauge.builder("outbox.retraso", retrasoSegundos.computeIfAbsent(almacen, a -> new AtomicLong()),
+                            AtomicLong::get)
+                    .description("Antigüedad del evento pendiente más viejo")
+                    .tag("almacen", almacen)
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+        }
+        eventos = Counter.builder("outbox.eventos")
+                .description("Eventos procesados por tipo y resultado")
+                .withRegistry(meterRegistry);
+        demora = Timer.builder("outbox.demora")
+                .description("Tiempo desde que se registró un evento hasta que quedó aplicado")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    // Para escrituras en PostgreSQL: los eventos (uno por clave) se insertan en la misma transacción, así
+    // existen si y solo si la escritura se confirma
+    public void registrar(TipoEvento tipo, Collection<?> claves) {
+        if (claves.isEmpty()) {
+            return;
+        }
+        postgresJdbcTemplate.batchUpdate("INSERT INTO outbox_evento (tipo, clave) VALUES (?, ?)",
+                claves.stream().map(clave -> new Object[]{tipo.name(), String.valueOf(clave)}).toList());
+    }
+
+    // Para escrituras en MySQL: debe llamarse dentro de la transacción de mysqlTransactionManager, así el evento
+    // se confirma o se descarta junto con la escritura
+    public void registrarEnMysql(TipoEvento tipo, Object clave) {
+        mysqlJdbcTemplate.update("INSERT INTO outbox_evento (tipo, clave) VALUES (?, ?)",
+                tipo.name(), String.valueOf(clave));
+    }
+
+    // Para eliminaciones en MongoDB, sin transacción: el evento se escribe antes de eliminar, así nunca falta, y
+    // se confirma con confirmarEnMongo una vez eliminado. Si la eliminación no llega a hacerse, el traslado lo
+    // descarta al ver, pasada la reserva, que sigue sin confirmar y el documento sigue existiendo
+    public Document registrarEnMongo(TipoEvento tipo, Object clave) {
+        return mongoTemplate.insert(new Document("tipo", tipo.name())
+                .append("clave", String.valueOf(clave))
+                .append("creadoEn", new Date())
+                .append("confirmado", false), COLECCION_OUTBOX);
+    }
+
+    // Upsert: si una eliminación lenta terminó después de que el traslado descartara el evento, este se vuelve
+    // a crear. Un error aquí no se propaga: el traslado igual lo envía al ver que el documento ya no existe
+    public void confirmarEnMongo(Document evento) {
+        try {
+            mongoTemplate.upsert(Query.query(Criteria.where("_id").is(evento.get("_id"))),
+                    new Update().set("confirmado", true)
+                            .setOnInsert("tipo", evento.get("tipo"))
+                            .setOnInsert("clave", evento.get("clave"))
+                            .setOnInsert("creadoEn", evento.get("creadoEn")),
+                    COLECCION_OUTBOX);
+        } catch (Exception e) {
+            System.err.println("Error confirmando el evento " + evento.get("tipo") + " de " + evento.get("clave")
+                    + " en el outbox de MongoDB: " + e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.intervalo-ms:1000}")
+    void revisar() {
+        // Si el despacho anterior sigue en curso, este se salta: lo pendiente queda para el siguiente
+        if (!despachoEnCurso.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            despachador.execute(() -> {
+                try {
+                    despachar();
+                } finally {
+                    despachoEnCurso.set(false);
+                }
+            });
+        } catch (Exception e) {
+            despachoEnCurso.set(false);
+        }
+    }
+
+    @PreDestroy
+    void detener() {
+        despachador.shutdownNow();
+    }
+
+    // Traslada lo de MySQL y MongoDB y toma lotes hasta vaciar lo pendiente. SKIP LOCKED y la reserva permiten
+    // varios nodos despachando a la vez
+    void despachar() {
+        trasladarDesdeMysql();
+        trasladarDesdeMongo();
+        try {
+            List<Evento> lote;
+            do {
+                lote = tomarLote();
+                aplicar(lote);
+            } while (lote.size() == tamanoLote);
+        } catch (Exception e) {
+            System.err.println("Error despachando el outbox: " + e.getMessage());
+        }
+        actualizarRetraso();
+    }
+
+    // Copia los eventos al outbox de PostgreSQL y luego los borra de MySQL. Una caída entre ambos pasos, o dos
+    // nodos trasladando a la vez, solo duplica eventos, y los manejadores son idempotentes
+    private void trasladarDesdeMysql() {
+        try {
+            List<EventoPorTrasladar> lote;
+            do {
+                lote = mysqlJdbcTemplate.query(
+                        "SELECT id, tipo, clave FROM outbox_evento ORDER BY id LIMIT ?",
+                        (rs, fila) -> new EventoPorTrasladar(rs.getLong("id"), rs.getString("tipo"),
+                                rs.getString("clave")),
+                        tamanoLote);
+                if (lote.isEmpty()) {
+                    return;
+                }
+                registrarTrasladados(lote);
+                mysqlJdbcTemplate.batchUpdate("DELETE FROM outbox_evento WHERE id = ?",
+                        lote.stream().map(evento -> new Object[]{evento.id()}).toList());
+            } while (lote.size() == tamanoLote);
+        } catch (Exception e) {
+            System.err.println("Error trasladando el outbox de MySQL: " + e.getMessage());
+        }
+    }
+
+    // Igual que con MySQL, salvo que el evento se escribió antes de eliminar: si no está confirmado y el proyecto
+    // sigue existiendo la eliminación está en curso o falló, y pasada la reserva se da por fallida y el evento se
+    // descarta (si aún estaba en curso, confirmarEnMongo lo vuelve a crear)
+    private void trasladarDesdeMongo() {
+        try {
+            Query consulta = new Query().with(Sort.by("creadoEn")).limit(tamanoLote);
+            List<Document> lote;
+            do {
+                lote = mongoTemplate.find(consulta, Document.class, COLECCION_OUTBOX);
+                List<EventoPorTrasladar> trasladables = new ArrayList<>();
+                List<Object> terminados = new ArrayList<>();
+                Instant vencimiento = Instant.now().minusSeconds(reservaSegundos);
+                for (Document documento : lote) {
+                    EventoPorTrasladar evento = new EventoPorTrasladar(documento.get("_id"),
+                            documento.getString("tipo"), documento.getString("clave"));
+                    if (documento.getBoolean("confirmado", false) || !proyectoExiste(evento.clave())) {
+                        trasladables.add(evento);
+                        terminados.add(evento.id());
+                    } else if (documento.getDate("creadoEn").toInstant().isBefore(vencimiento)) {
+                        terminados.add(evento.id());
+                    }
+                }
+                registrarTrasladados(trasladables);
+                if (!terminados.isEmpty()) {
+                    mongoTemplate.remove(Query.query(Criteria.where("_id").in(terminados)), COLECCION_OUTBOX);
+                }
+                // Si todo el lote está en espera no hay avance posible hasta la próxima revisión
+                if (terminados.isEmpty()) {
+                    return;
+                }
+            } while (lote.size() == tamanoLote);
+        } catch (Exception e) {
+            System.err.println("Error trasladando el outbox de MongoDB: " + e.getMessage());
+        }
+    }
+
+    private boolean proyectoExiste(String id) {
+        return mongoTemplate.exists(Query.query(Criteria.where("_id").is(id)), ProyectoInvestigacion.class);
+    }
+
+    private void registrarTrasladados(List<EventoPorTrasladar> eventos) {
+        if (eventos.isEmpty()) {
+            return;
+        }
+        postgresJdbcTemplate.batchUpdate("INSERT INTO outbox_evento (tipo, clave) VALUES (?, ?)",
+                eventos.stream().map(evento -> new Object[]{evento.tipo(), evento.clave()}).toList());
+    }
+
+    private List<Evento> tomarLote() {
+        List<Evento> lote = new ArrayList<>(postgresJdbcTemplate.query(TOMAR_LOTE,
+                (rs, fila) -> new Evento(rs.getLong("id"), rs.getString("tipo"), rs.getString("clave"),
+                        rs.getInt("intentos"), rs.getLong("demora_ms")),
+                reservaSegundos, tamanoLote));
+        lote.sort(Comparator.comparingLong(Evento::id));
+        return lote;
+    }
+
+    private void aplicar(List<Evento> lote) {
+        List<Long> aplicados = new ArrayList<>(lote.size());
+        for (Evento evento : lote) {
+            try {
+                aplicar(evento);
+                aplicados.add(evento.id());
+                eventos.withTags("tipo", evento.tipo(), "resultado", "aplicado").increment();
+                demora.record(evento.demoraMs(), TimeUnit.MILLISECONDS);
+            } catch (Exception e) {
+                eventos.withTags("tipo", evento.tipo(), "resultado", "error").increment();
+                reprogramar(evento, e);
+            }
+        }
+        if (!aplicados.isEmpty()) {
+            postgresJdbcTemplate.update("DELETE FROM outbox_evento WHERE id = ANY(?)",
+                    ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", aplicados.toArray())));
+        }
+    }
+
+    private void aplicar(Evento evento) {
+        switch (TipoEvento.valueOf(evento.tipo())) {
+            case CURSO_ELIMINADO -> {
+                // Cassandra primero: si falla, las matrículas siguen ahí y el reintento repite todo el evento
+                Integer cursoId = Integer.valueOf(evento.clave());
+                profesorService.quitarCurso(cursoId);
+                List<Integer> estudiantes = postgresJdbcTemplate.queryForList(
+                        "DELETE FROM estudiante_curso WHERE curso_id = ? RETURNING estudiante_id", Integer.class,
+                        cursoId);
+                reporteService.invalidarCacheReportes(estudiantes);
+                nominaService.invalidarInscritos(List.of(cursoId));
+            }
+            case PROYECTO_ELIMINADO -> {
+                List<Integer> estudiantes = postgresJdbcTemplate.queryForList(
+                        "DELETE FROM estudiante_proyecto WHERE proyecto_id = ? RETURNING estudiante_id",
+                        Integer.class, evento.clave());
+                reporteService.invalidarCacheReportes(estudiantes);
+            }
+            case ESTUDIANTE_ELIMINADO -> reporteService.invalidarCacheReporte(Integer.valueOf(evento.clave()));
+            case INSCRITOS_CAMBIADOS -> nominaService.invalidarInscritos(List.of(Integer.valueOf(evento.clave())));
+        }
+    }
+
+    // Espera exponencial (1 s, 2 s, 4 s...) hasta ESPERA_MAXIMA_SEGUNDOS; el evento nunca se descarta
+    private void reprogramar(Evento evento, Exception error) {
+        int espera = (int) Math.min(ESPERA_MAXIMA_SEGUNDOS, 1L << Math.min(evento.intentos(), 20));
+        String mensaje = String.valueOf(error.getMessage());
+        System.err.println("Error aplicando el evento " + evento.tipo() + " de " + evento.clave()
+                + " (intento " + (evento.intentos() + 1) + "): " + mensaje);
+        try {
+            postgresJdbcTemplate.update("UPDATE outbox_evento SET intentos = intentos + 1,"
+                            + " proximo_intento = now() + make_interval(secs => ?), ultimo_error = ? WHERE id = ?",
+                    espera, mensaje.length() > 500 ? mensaje.substring(0, 500) : mensaje, evento.id());
+        } catch (Exception e) {
+            // Sin poder reprogramarlo, el evento se reintenta al vencer la reserva
+            System.err.println("Error reprogramando el evento " + evento.id() + " del outbox: " + e.getMessage());
+        }
+    }
+
+    // Cada almacén se mide por separado: los eventos que quedan en MySQL o MongoDB (p. ej. con PostgreSQL caído y
+    // el traslado detenido) también cuentan en el atraso
+    private void actualizarRetraso() {
+        medirRetraso("postgres", () -> postgresJdbcTemplate.query("SELECT count(*) AS pendientes,"
+                + " COALESCE(EXTRACT(EPOCH FROM (now() - min(creado_en))), 0) AS retraso FROM outbox_evento",
+                rs -> {
+                    pendientes.get("postgres").set(rs.getLong("pendientes"));
+                    retrasoSegundos.get("postgres").set(rs.getLong("retraso"));
+                }));
+        medirRetraso("mysql", () -> mysqlJdbcTemplate.query("SELECT count(*) AS pendientes,"
+                + " COALESCE(TIMESTAMPDIFF(SECOND, min(creado_en), now()), 0) AS retraso FROM outbox_evento",
+                rs -> {
+                    pendientes.get("mysql").set(rs.getLong("pendientes"));
+                    retrasoSegundos.get("mysql").set(rs.getLong("retraso"));
+                }));
+        medirRetraso("mongo", () -> {
+            Document masViejo = mongoTemplate.findOne(new Query().with(Sort.by("creadoEn")), Document.class,
+                    COLECCION_OUTBOX);
+            long retraso = masViejo != null
+                    ? (System.currentTimeMillis() - masViejo.getDate("creadoEn").getTime()) / 1000 : 0;
+            pendientes.get("mongo").set(mongoTemplate.count(new Query(), COLECCION_OUTBOX));
+            retrasoSegundos.get("mongo").set(Math.max(retraso, 0));
+        });
+    }
+
+    private static void medirRetraso(String almacen, Runnable medicion) {
+        try {
+            medicion.run();
+        } catch (Exception e) {
+            System.err.println("Error midiendo el outbox de " + almacen + ": " + e.getMessage());
+        }
+    }
+}
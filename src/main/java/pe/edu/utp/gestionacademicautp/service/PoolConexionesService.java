@@ -0,0 +1,45 @@
+package pe.edu.utp.gestionacademicautp.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import pe.edu.utp.gestionacademicautp.config.MetricasPoolConexiones;
+import pe.edu.utp.gestionacademicautp.dto.MetricasPoolDTO;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Estado en vivo de los pools JDBC (Postgres y MySQL) junto con las esperas acumuladas por conexión
+@Service
+@RequiredArgsConstructor
+public class PoolConexionesService {
+
+    private final List<HikariDataSource> pools;
+    private final MetricasPoolConexiones metricasPool;
+
+    public List<MetricasPoolDTO> getMetricas() {
+        return pools.stream().map(this::metricas).collect(Collectors.toList());
+    }
+
+    private MetricasPoolDTO metricas(HikariDataSource dataSource) {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        MetricasPoolConexiones.Registro registro = metricasPool.registro(dataSource.getPoolName());
+        MetricasPoolDTO dto = new MetricasPoolDTO();
+        dto.setPool(dataSource.getPoolName());
+        dto.setMaximo(dataSource.getMaximumPoolSize());
+        if (pool != null) {
+            dto.setIniciado(true);
+            dto.setActivas(pool.getActiveConnections());
+            dto.setInactivas(pool.getIdleConnections());
+            dto.setTotal(pool.getTotalConnections());
+            dto.setHilosEsperando(pool.getThreadsAwaitingConnection());
+        }
+        dto.setAdquisiciones(registro.adquisiciones());
+        dto.setEsperaPromedioMs(registro.esperaPromedioMs());
+        dto.setEsperaMaximaMs(registro.esperaMaximaMs());
+        dto.setTimeouts(registro.timeouts());
+        dto.setUsoPromedioMs(registro.usoPromedioMs());
+        return dto;
+    }
+}
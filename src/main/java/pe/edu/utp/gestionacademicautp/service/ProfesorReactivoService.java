@@ -0,0 +1,44 @@
+package pe.edu.utp.gestionacademicautp.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import pe.edu.utp.gestionacademicautp.model.cassandra.Profesor;
+import pe.edu.utp.gestionacademicautp.repository.cassandra.ProfesorReactiveRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+// Lecturas de profesores para la API /api/v2 sobre el driver reactivo de Cassandra.
+// Las escrituras siguen en ProfesorService, que mantiene las tablas de consulta en el mismo batch.
+@Service
+@RequiredArgsConstructor
+public class ProfesorReactivoService {
+
+    private final ProfesorReactiveRepository profesorReactiveRepository;
+
+    // Recorre la tabla página por página según la demanda del cliente
+    public Flux<Profesor> getAllProfesores() {
+        return profesorReactiveRepository.findAll();
+    }
+
+    public Mono<Profesor> getProfesorById(UUID id) {
+        return profesorReactiveRepository.findById(id);
+    }
+
+    public Flux<Profesor> getProfesoresActivos() {
+        return profesorReactiveRepository.findByActivoTrue();
+    }
+
+    public Flux<Profesor> getProfesoresByEspecialidad(String especialidad) {
+        return profesorReactiveRepository.findByEspecialidad(especialidad);
+    }
+
+    public Flux<Profesor> getProfesoresByGradoAcademico(String gradoAcademico) {
+        return profesorReactiveRepository.findByGradoAcademico(gradoAcademico);
+    }
+
+    public Flux<Profesor> getProfesoresConExperiencia(Integer anosMinimos) {
+        return profesorReactiveRepository.findByAnosExperienciaGreaterThanEqual(anosMinimos);
+    }
+}
@@ -1,13 +1,35 @@
 package pe.edu.utp.gestionacademicautp.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.cassandra.core.CassandraOperations;
+import org.springframework.data.cassandra.core.query.CassandraPageRequest;
+import org.springframework.data.cassandra.core.query.Query;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import pe.edu.utp.gestionacademicautp.dto.PaginaDTO;
 import pe.edu.utp.gestionacademicautp.model.cassandra.Profesor;
 import pe.edu.utp.gestionacademicautp.repository.cassandra.ProfesorRepository;
+import pe.edu.utp.gestionacademicautp.repository.cassandra.ProfesorTablasConsulta;
+import pe.edu.utp.gestionacademicautp.service.ContadoresDashboardService.Entidad;
 
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class ProfesorService {
@@ -15,17 +37,77 @@ public class ProfesorService {
     @Autowired
     private ProfesorRepository profesorRepository;
 
+    @Autowired
+    private ProfesorTablasConsulta tablasConsulta;
+
+    @Autowired
+    private CassandraOperations cassandraOperations;
+
+    @Autowired
+    private ContadoresDashboardService contadores;
+
+    @Autowired
+    private BusquedaService busquedaService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    // Lecturas por ID pendientes a la vez en getProfesoresByIds
+    @Value("${app.profesores.lectura-multiple.max-en-vuelo:32}")
+    private int maximoLecturasEnVuelo;
+
     // Obtener todos los profesores
+    @Cacheable(cacheNames = "profesores-todos", key = "'todos'", sync = true)
     public List<Profesor> getAllProfesores() {
         return profesorRepository.findAll();
     }
 
+    // Obtener una página de profesores; el cursor es el paging state de Cassandra
+    public PaginaDTO<Profesor> getPaginaProfesores(String cursor, int tamano) {
+        int limite = CursorPaginacion.normalizarTamano(tamano);
+        CassandraPageRequest solicitud = cursor != null
+                ? CassandraPageRequest.of(PageRequest.of(0, limite),
+                        ByteBuffer.wrap(CursorPaginacion.decodificarBytes(cursor)))
+                : CassandraPageRequest.first(limite);
+        Slice<Profesor> pagina = profesorRepository.findAll(solicitud);
+
+        String siguienteCursor = null;
+        if (pagina.hasNext()) {
+            ByteBuffer estado = ((CassandraPageRequest) pagina.nextPageable()).getPagingState();
+            siguienteCursor = estado != null ? CursorPaginacion.codificar(estado) : null;
+        }
+        return new PaginaDTO<>(pagina.getContent(), siguienteCursor);
+    }
+
+    // Recorrer todos los profesores; el driver pide las páginas a medida que se consumen
+    public void streamAllProfesores(Consumer<Profesor> consumidor) {
+        try (Stream<Profesor> profesores = cassandraOperations.stream(Query.empty(), Profesor.class)) {
+            profesores.forEach(consumidor);
+        }
+    }
+
     // Obtener profesor por ID
+    @Cacheable(cacheNames = "profesores", key = "#id", sync = true)
     public Optional<Profesor> getProfesorById(UUID id) {
         return profesorRepository.findById(id);
     }
 
+    // Obtener varios profesores por ID con lecturas concurrentes, en el orden recibido y sin repetidos
+    public List<Profesor> getProfesoresByIds(Collection<UUID> ids) {
+        List<UUID> distintos = new ArrayList<>(new LinkedHashSet<>(ids));
+        distintos.remove(null);
+        if (distintos.size() > CursorPaginacion.TAMANO_MAXIMO) {
+            throw new IllegalArgumentException("Se pueden pedir como máximo " + CursorPaginacion.TAMANO_MAXIMO
+                    + " profesores por consulta");
+        }
+        if (distintos.isEmpty()) {
+            return List.of();
+        }
+        return tablasConsulta.buscarPorIds(distintos, maximoLecturasEnVuelo);
+    }
+
     // Crear nuevo profesor
+    @CacheEvict(cacheNames = "profesores-todos", key = "'todos'")
     public Profesor createProfesor(Profesor profesor) {
         if (profesor.getId() == null) {
             profesor.setId(UUID.randomUUID());
@@ -33,14 +115,22 @@ public class ProfesorService {
         if (profesor.getActivo() == null) {
             profesor.setActivo(true);
         }
-        return profesorRepository.save(profesor);
+        Profesor guardado = tablasConsulta.guardar(null, profesor);
+        contadores.incrementar(Entidad.PROFESORES, 1);
+        busquedaService.indexarProfesor(guardado);
+        return guardado;
     }
 
     // Actualizar profesor
+    @Caching(evict = {
+            @CacheEvict(cacheNames = "profesores", key = "#id"),
+            @CacheEvict(cacheNames = "profesores-todos", key = "'todos'")
+    })
     public Profesor updateProfesor(UUID id, Profesor profesorDetails) {
         Optional<Profesor> profesorExistente = profesorRepository.findById(id);
         if (profesorExistente.isPresent()) {
             Profesor profesor = profesorExistente.get();
+            Profesor anterior = copiar(profesor);
             profesor.setNombre(profesorDetails.getNombre());
             profesor.setApellido(profesorDetails.getApellido());
             profesor.setCorreo(profesorDetails.getCorreo());
@@ -50,16 +140,24 @@ public class ProfesorService {
             profesor.setAnosExperiencia(profesorDetails.getAnosExperiencia());
             profesor.setActivo(profesorDetails.getActivo());
             profesor.setCursoIds(profesorDetails.getCursoIds());
-            return profesorRepository.save(profesor);
+            Profesor guardado = tablasConsulta.guardar(anterior, profesor);
+            busquedaService.indexarProfesor(guardado);
+            return guardado;
         }
         throw new RuntimeException("Profesor no encontrado con ID: " + id);
     }
 
     // Eliminar profesor físicamente de la base de datos
+    @Caching(evict = {
+            @CacheEvict(cacheNames = "profesores", key = "#id"),
+            @CacheEvict(cacheNames = "profesores-todos", key = "'todos'")
+    })
     public void deleteProfesor(UUID id) {
         Optional<Profesor> profesor = profesorRepository.findById(id);
         if (profesor.isPresent()) {
-            profesorRepository.deleteById(id);
+            tablasConsulta.eliminar(profesor.get());
+            contadores.decrementar(Entidad.PROFESORES);
+            busquedaService.eliminar(BusquedaService.Tipo.PROFESORES, id);
         } else {
             throw new RuntimeException("Profesor no encontrado con ID: " + id);
         }
@@ -89,4 +187,38 @@ public class ProfesorService {
     public List<Profesor> getProfesorByCorreo(String correo) {
         return profesorRepository.findByCorreo(correo);
     }
+
+    // Obtener los profesores que dictan un curso
+    public List<Profesor> getProfesoresByCurso(Integer cursoId) {
+        return profesorRepository.findByCursoId(String.valueOf(cursoId));
+    }
+
+    // Quitar un curso eliminado de los profesores que lo dictaban (lo aplica el outbox, puede repetirse)
+    @CacheEvict(cacheNames = "profesores-todos", key = "'todos'")
+    public void quitarCurso(Integer cursoId) {
+        Cache porId = cacheManager.getCache("profesores");
+        for (Profesor encontrado : profesorRepository.findByCursoId(String.valueOf(cursoId))) {
+            Optional<Profesor> existente = profesorRepository.findById(encontrado.getId());
+            if (existente.isEmpty() || existente.get().getCursoIds() == null
+                    || !existente.get().getCursoIds().contains(cursoId)) {
+                continue;
+            }
+            Profesor profesor = existente.get();
+            Profesor anterior = copiar(profesor);
+            Set<Integer> cursoIds = new HashSet<>(profesor.getCursoIds());
+            cursoIds.remove(cursoId);
+            profesor.setCursoIds(cursoIds);
+            tablasConsulta.guardar(anterior, profesor);
+            if (porId != null) {
+                porId.evict(profesor.getId());
+            }
+        }
+    }
+
+    private Profesor copiar(Profesor profesor) {
+        return new Profesor(profesor.getId(), profesor.getNombre(), profesor.getApellido(), profesor.getCorreo(),
+                profesor.getEspecialidad(), profesor.getTelefono(), profesor.getGradoAcademico(),
+                profesor.getAnosExperiencia(), profesor.getActivo(),
+                profesor.getCursoIds() != null ? new HashSet<>(profesor.getCursoIds()) : null);
+    }
 }
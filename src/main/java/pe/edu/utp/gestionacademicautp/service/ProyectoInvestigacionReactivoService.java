@@ -0,0 +1,37 @@
+package pe.edu.utp.gestionacademicautp.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import pe.edu.utp.gestionacademicautp.dto.PaginaDTO;
+import pe.edu.utp.gestionacademicautp.dto.ProyectoInvestigacionDTO;
+import pe.edu.utp.gestionacademicautp.repository.mongo.ProyectoInvestigacionReactiveRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Lecturas de proyectos para la API /api/v2 sobre el driver reactivo de MongoDB: ningún hilo queda
+// bloqueado esperando a la base de datos. Las escrituras siguen en ProyectoInvestigacionService (caches y contadores).
+@Service
+@RequiredArgsConstructor
+public class ProyectoInvestigacionReactivoService {
+
+    private final ProyectoInvestigacionReactiveRepository proyectoReactiveRepository;
+
+    public Flux<ProyectoInvestigacionDTO> getAllProyectos() {
+        return proyectoReactiveRepository.findAllByOrderByIdAsc();
+    }
+
+    public Mono<PaginaDTO<ProyectoInvestigacionDTO>> getPaginaProyectos(String cursor, int tamano) {
+        int limite = CursorPaginacion.normalizarTamano(tamano);
+        Flux<ProyectoInvestigacionDTO> filas = cursor != null
+                ? proyectoReactiveRepository.findByIdGreaterThanOrderByIdAsc(
+                        CursorPaginacion.decodificarTexto(cursor), Limit.of(limite + 1))
+                : proyectoReactiveRepository.findAllByOrderByIdAsc(Limit.of(limite + 1));
+        return filas.collectList().map(lista ->
+                CursorPaginacion.armarPagina(lista, limite, ProyectoInvestigacionDTO::getId, pagina -> pagina));
+    }
+
+    public Mono<ProyectoInvestigacionDTO> getProyectoById(String id) {
+        return proyectoReactiveRepository.findDtoById(id);
+    }
+}
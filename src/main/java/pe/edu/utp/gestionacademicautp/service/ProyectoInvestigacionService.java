@@ -1,50 +1,119 @@
 package pe.edu.utp.gestionacademicautp.service;
 
 import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
+import pe.edu.utp.gestionacademicautp.dto.PaginaDTO;
 import pe.edu.utp.gestionacademicautp.dto.ProyectoInvestigacionDTO;
 import pe.edu.utp.gestionacademicautp.model.mongo.ProyectoInvestigacion;
 import pe.edu.utp.gestionacademicautp.repository.mongo.ProyectoInvestigacionRepository;
+import pe.edu.utp.gestionacademicautp.service.ContadoresDashboardService.Entidad;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class ProyectoInvestigacionService {
 
     private final ProyectoInvestigacionRepository proyectoInvestigacionRepository;
+    private final ReporteIntegralEstudianteService reporteService;
+    private final ContadoresDashboardService contadores;
+    private final MongoTemplate mongoTemplate;
+    private final BusquedaService busquedaService;
+    private final OutboxService outboxService;
 
+    @Cacheable(cacheNames = "proyectos-todos", key = "'todos'", sync = true)
     public List<ProyectoInvestigacionDTO> getAllProyectos() {
         return proyectoInvestigacionRepository.findAll().stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
 
+    public PaginaDTO<ProyectoInvestigacionDTO> getPaginaProyectos(String cursor, int tamano) {
+        int limite = CursorPaginacion.normalizarTamano(tamano);
+        List<ProyectoInvestigacion> filas = cursor != null
+                ? proyectoInvestigacionRepository.findByIdGreaterThanOrderByIdAsc(
+                        CursorPaginacion.decodificarTexto(cursor), Limit.of(limite + 1))
+                : proyectoInvestigacionRepository.findAllByOrderByIdAsc(Limit.of(limite + 1));
+        return CursorPaginacion.armarPagina(filas, limite, ProyectoInvestigacion::getId,
+                pagina -> pagina.stream().map(this::convertToDto).collect(Collectors.toList()));
+    }
+
+    // Recorre la colección con el cursor del driver, documento por documento
+    public void streamAllProyectos(Consumer<ProyectoInvestigacionDTO> consumidor) {
+        Query todos = new Query().with(Sort.by(Sort.Direction.ASC, "id"));
+        try (Stream<ProyectoInvestigacion> proyectos = mongoTemplate.stream(todos, ProyectoInvestigacion.class)) {
+            proyectos.map(this::convertToDto).forEach(consumidor);
+        }
+    }
+
+    @Cacheable(cacheNames = "proyectos", key = "#id", sync = true)
     public ProyectoInvestigacionDTO getProyectoById(String id) {
         return proyectoInvestigacionRepository.findById(id)
                 .map(this::convertToDto)
                 .orElse(null);
     }
 
+    // Resuelve muchos proyectos en un solo viaje a MongoDB, en el mismo orden de los IDs recibidos
+    public List<ProyectoInvestigacionDTO> getProyectosByIds(Collection<String> ids) {
+        return proyectoInvestigacionRepository.findResumenesByIds(ids).stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+    }
+
+    @CacheEvict(cacheNames = "proyectos-todos", key = "'todos'")
     public ProyectoInvestigacionDTO createProyecto(ProyectoInvestigacionDTO proyectoDTO) {
         ProyectoInvestigacion proyecto = convertToEntity(proyectoDTO);
         proyecto = proyectoInvestigacionRepository.save(proyecto);
+        contadores.incrementar(Entidad.PROYECTOS, 1);
+        busquedaService.indexarProyecto(proyecto);
         return convertToDto(proyecto);
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = "proyectos", key = "#id"),
+            @CacheEvict(cacheNames = "proyectos-todos", key = "'todos'")
+    })
     public ProyectoInvestigacionDTO updateProyecto(String id, ProyectoInvestigacionDTO proyectoDTO) {
         return proyectoInvestigacionRepository.findById(id).map(proyecto -> {
             proyecto.setTitulo(proyectoDTO.getTitulo());
             proyecto.setResumen(proyectoDTO.getResumen());
             proyecto.setFechaInicio(proyectoDTO.getFechaInicio());
             proyecto.setFechaFin(proyectoDTO.getFechaFin());
-            return convertToDto(proyectoInvestigacionRepository.save(proyecto));
+            ProyectoInvestigacion guardado = proyectoInvestigacionRepository.save(proyecto);
+            ProyectoInvestigacionDTO actualizado = convertToDto(guardado);
+            reporteService.invalidarCacheReportesPorProyecto(id);
+            busquedaService.indexarProyecto(guardado);
+            return actualizado;
         }).orElse(null);
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = "proyectos", key = "#id"),
+            @CacheEvict(cacheNames = "proyectos-todos", key = "'todos'")
+    })
     public void deleteProyecto(String id) {
+        boolean existia = proyectoInvestigacionRepository.existsById(id);
+        // Las participaciones y los reportes se limpian de forma asíncrona desde el outbox; el evento se
+        // escribe antes de eliminar porque MongoDB no comparte transacción con él, y se confirma después
+        Document evento = outboxService.registrarEnMongo(OutboxService.TipoEvento.PROYECTO_ELIMINADO, id);
         proyectoInvestigacionRepository.deleteById(id);
+        outboxService.confirmarEnMongo(evento);
+        busquedaService.eliminar(BusquedaService.Tipo.PROYECTOS, id);
+        if (existia) {
+            contadores.decrementar(Entidad.PROYECTOS);
+        }
     }
 
     private ProyectoInvestigacionDTO convertToDto(ProyectoInvestigacion proyecto) {
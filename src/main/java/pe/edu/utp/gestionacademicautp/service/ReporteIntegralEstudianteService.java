@@ -1,37 +1,188 @@
 package pe.edu.utp.gestionacademicautp.service;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import pe.edu.utp.gestionacademicautp.config.ContextoEndpoint;
 import pe.edu.utp.gestionacademicautp.dto.CursoDTO;
 import pe.edu.utp.gestionacademicautp.dto.EstudianteDTO;
 import pe.edu.utp.gestionacademicautp.dto.ProyectoInvestigacionDTO;
 import pe.edu.utp.gestionacademicautp.dto.ReporteIntegralEstudianteDTO;
 import pe.edu.utp.gestionacademicautp.model.postgres.Estudiante;
-import pe.edu.utp.gestionacademicautp.repository.postgres.EstudianteRepository;
 import pe.edu.utp.gestionacademicautp.repository.mongo.ProyectoInvestigacionRepository;
 
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ReporteIntegralEstudianteService {
-    private final EstudianteRepository estudianteRepository;
-    private final RedisTemplate<String, Object> redisTemplate;
+    private static final String CACHE_PREFIX = "reporte_estudiante:";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
     @Qualifier("postgresJdbcTemplate")
     private final JdbcTemplate postgresJdbcTemplate;
-    @Qualifier("mysqlJdbcTemplate")
-    private final JdbcTemplate mysqlJdbcTemplate;
+    private final CatalogoCursos catalogoCursos;
     private final ProyectoInvestigacionRepository proyectoRepository;
 
-    @Transactional(transactionManager = "postgresTransactionManager", readOnly = true)
+    // Reconstrucciones en curso: las peticiones concurrentes de un mismo estudiante esperan a la misma carga
+    private final ConcurrentHashMap<Integer, CompletableFuture<ReporteIntegralEstudianteDTO>> cargasEnCurso = new ConcurrentHashMap<>();
+
+    // Se incrementa con cada invalidación; una reconstrucción iniciada antes no escribe en cache
+    private final AtomicLong invalidaciones = new AtomicLong();
+
+    @Value("${app.cache.reporte.ttl-segundos:600}")
+    private long ttlSegundos;
+
+    @Value("${app.reporte.hilos:16}")
+    private int hilos;
+
+    @Value("${app.reporte.cola:200}")
+    private int capacidadCola;
+
+    @Value("${app.reporte.timeout.estudiante-ms:2000}")
+    private long timeoutEstudianteMs;
+
+    @Value("${app.reporte.timeout.cursos-ms:1500}")
+    private long timeoutCursosMs;
+
+    @Value("${app.reporte.timeout.proyectos-ms:1500}")
+    private long timeoutProyectosMs;
+
+    private ObjectWriter escritorCache;
+    private ObjectReader lectorCache;
+
+    // Con spring.threads.virtual.enabled (perfil java21) cada rama corre en su propio hilo virtual
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean hilosVirtuales;
+
+    // Consulta los almacenes en paralelo: pool acotado de hilos de plataforma (si se llena, la rama se rechaza y
+    // cuenta como fallida) o un hilo virtual por rama, donde el límite real son los pools de conexiones.
+    // submit() devuelve un FutureTask: cancelarlo interrumpe el hilo que ejecuta la rama
+    private AsyncTaskExecutor ejecutor;
+    private ThreadPoolExecutor pool;
+
+    @PostConstruct
+    void inicializar() {
+        // JSON sin metadatos de tipo ni campos nulos: mucho más compacto que el serializador genérico
+        ObjectMapper compacto = objectMapper.copy().setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        escritorCache = compacto.writerFor(ReporteIntegralEstudianteDTO.class);
+        lectorCache = compacto.readerFor(ReporteIntegralEstudianteDTO.class);
+
+        if (hilosVirtuales && JavaVersion.getJavaVersion().isEqualOrNewerThan(JavaVersion.TWENTY_ONE)) {
+            SimpleAsyncTaskExecutor virtuales = new SimpleAsyncTaskExecutor("reporte-");
+            virtuales.setVirtualThreads(true);
+            virtuales.setTaskTerminationTimeout(timeoutEstudianteMs);
+            ejecutor = virtuales;
+            return;
+        }
+        // AbortPolicy: una rama nunca corre en el hilo de la petición, donde ningún plazo la acotaría
+        pool = new ThreadPoolExecutor(hilos, hilos, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(capacidadCola), new CustomizableThreadFactory("reporte-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        pool.allowCoreThreadTimeOut(true);
+        ejecutor = new TaskExecutorAdapter(pool);
+    }
+
+    @PreDestroy
+    void detener() {
+        if (ejecutor instanceof SimpleAsyncTaskExecutor virtuales) {
+            virtuales.close();
+        } else if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
     public ReporteIntegralEstudianteDTO obtenerReporte(Integer estudianteId) {
-        Estudiante estudiante = estudianteRepository.findById(estudianteId).orElse(null);
+        ReporteIntegralEstudianteDTO enCache = leerCache(estudianteId);
+        if (enCache != null) {
+            return enCache;
+        }
+
+        CompletableFuture<ReporteIntegralEstudianteDTO> carga = new CompletableFuture<>();
+        CompletableFuture<ReporteIntegralEstudianteDTO> cargaExistente = cargasEnCurso.putIfAbsent(estudianteId, carga);
+        if (cargaExistente != null) {
+            return esperarCarga(cargaExistente);
+        }
+
+        try {
+            long invalidacionesAlIniciar = invalidaciones.get();
+            ReporteIntegralEstudianteDTO reporte = construirReporte(estudianteId);
+            // Un reporte parcial no se cachea: la siguiente petición vuelve a intentar los almacenes que fallaron
+            if (reporte != null && !reporte.isParcial() && invalidacionesAlIniciar == invalidaciones.get()) {
+                escribirCache(estudianteId, reporte);
+            }
+            carga.complete(reporte);
+            return reporte;
+        } catch (RuntimeException e) {
+            carga.completeExceptionally(e);
+            throw e;
+        } finally {
+            cargasEnCurso.remove(estudianteId, carga);
+        }
+    }
+
+    private ReporteIntegralEstudianteDTO construirReporte(Integer estudianteId) {
+        // Las tres ramas son independientes: el reporte tarda lo que el almacén más lento, no la suma
+        long inicio = System.nanoTime();
+        Future<Estudiante> estudianteFuture = enviar(() -> getEstudiante(estudianteId));
+        Future<List<CursoDTO>> cursosFuture = enviar(() -> getCursosForEstudiante(estudianteId));
+        Future<List<ProyectoInvestigacionDTO>> proyectosFuture = enviar(() -> getProyectosForEstudiante(estudianteId));
+
+        Estudiante estudiante;
+        try {
+            estudiante = estudianteFuture.get(restanteMs(inicio, timeoutEstudianteMs), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            cancelar(estudianteFuture, cursosFuture, proyectosFuture);
+            throw new IllegalStateException("PostgreSQL no respondió a tiempo para el estudiante " + estudianteId, e);
+        } catch (ExecutionException e) {
+            cancelar(cursosFuture, proyectosFuture);
+            if (e.getCause() instanceof RejectedExecutionException) {
+                throw new IllegalStateException("Pool de reportes saturado para el estudiante " + estudianteId,
+                        e.getCause());
+            }
+            throw e.getCause() instanceof RuntimeException causa ? causa : new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancelar(estudianteFuture, cursosFuture, proyectosFuture);
+            throw new IllegalStateException("Construcción del reporte interrumpida", e);
+        }
         if (estudiante == null) {
+            cancelar(cursosFuture, proyectosFuture);
             return null;
         }
 
@@ -43,51 +194,131 @@ public class ReporteIntegralEstudianteService {
         estudianteDTO.setCorreo(estudiante.getCorreo());
         estudianteDTO.setFecha_nacimiento(estudiante.getFecha_nacimiento());
 
-        // Obtener los cursos asociados al estudiante desde la base de datos
-        List<CursoDTO> cursoDTOs = getCursosForEstudiante(estudianteId);
-
-        // Obtener los proyectos asociados al estudiante desde la base de datos
-        List<ProyectoInvestigacionDTO> proyectoDTOs = getProyectosForEstudiante(estudianteId);
-
         ReporteIntegralEstudianteDTO reporte = new ReporteIntegralEstudianteDTO();
         reporte.setEstudiante(estudianteDTO);
-        reporte.setCursos(cursoDTOs);
-        reporte.setProyectos(proyectoDTOs);
+        reporte.setCursos(esperarRama("cursos", cursosFuture, inicio, timeoutCursosMs, reporte, estudianteId));
+        reporte.setProyectos(esperarRama("proyectos", proyectosFuture, inicio, timeoutProyectosMs, reporte, estudianteId));
 
         return reporte;
     }
 
-    private List<CursoDTO> getCursosForEstudiante(Integer estudianteId) {
+    // Espera una rama hasta su plazo; si falla o se vence, el reporte se marca como parcial
+    private <T> List<T> esperarRama(String fuente, Future<List<T>> rama, long inicio, long timeoutMs,
+                                    ReporteIntegralEstudianteDTO reporte, Integer estudianteId) {
+        try {
+            return rama.get(restanteMs(inicio, timeoutMs), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            rama.cancel(true);
+            System.err.println("Tiempo agotado obteniendo " + fuente + " para el estudiante " + estudianteId);
+        } catch (ExecutionException e) {
+            System.err.println("Error obteniendo " + fuente + " para el estudiante " + estudianteId + ": "
+                    + e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rama.cancel(true);
+        }
+        reporte.setParcial(true);
+        if (reporte.getFuentesIncompletas() == null) {
+            reporte.setFuentesIncompletas(new ArrayList<>());
+        }
+        reporte.getFuentesIncompletas().add(fuente);
+        return new ArrayList<>();
+    }
+
+    private static long restanteMs(long inicioNanos, long timeoutMs) {
+        long transcurridoMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicioNanos);
+        return Math.max(0, timeoutMs - transcurridoMs);
+    }
+
+    private static void cancelar(Future<?>... ramas) {
+        for (Future<?> rama : ramas) {
+            rama.cancel(true);
+        }
+    }
+
+    // Cada rama conserva el endpoint de la petición para las métricas de los almacenes. Una rama rechazada
+    // por el pool lleno queda como fallida
+    private <T> Future<T> enviar(Supplier<T> rama) {
+        Supplier<T> conEndpoint = ContextoEndpoint.conEndpoint(rama);
         try {
-            // Primero, obtener los IDs de los cursos desde la tabla de relaciones en
-            // PostgreSQL
-            String sqlRelaciones = "SELECT curso_id FROM estudiante_curso WHERE estudiante_id = ?";
-            List<Integer> cursoIds = postgresJdbcTemplate.queryForList(sqlRelaciones, Integer.class, estudianteId);
+            return ejecutor.submit(conEndpoint::get);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
 
-            if (cursoIds.isEmpty()) {
-                return new ArrayList<>();
+    // El plazo también se pasa al driver: la interrupción no corta una consulta JDBC en curso, el timeout sí
+    // libera la conexión del lado del servidor
+    private <T> List<T> consultarConPlazo(String sql, RowMapper<T> mapeo, long plazoMs, Object... args) {
+        int segundos = (int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(plazoMs + 999));
+        return postgresJdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            ps.setQueryTimeout(segundos);
+            new ArgumentPreparedStatementSetter(args).setValues(ps);
+            return ps;
+        }, mapeo);
+    }
+
+    private Estudiante getEstudiante(Integer estudianteId) {
+        List<Estudiante> filas = consultarConPlazo(
+                "SELECT id, nombre, apellido, correo, fecha_nacimiento FROM estudiante WHERE id = ?",
+                (rs, fila) -> {
+                    Date fechaNacimiento = rs.getDate("fecha_nacimiento");
+                    return new Estudiante(rs.getInt("id"), rs.getString("nombre"), rs.getString("apellido"),
+                            rs.getString("correo"), fechaNacimiento != null ? fechaNacimiento.toLocalDate() : null);
+                }, timeoutEstudianteMs, estudianteId);
+        return filas.isEmpty() ? null : filas.get(0);
+    }
+
+    private ReporteIntegralEstudianteDTO esperarCarga(CompletableFuture<ReporteIntegralEstudianteDTO> carga) {
+        try {
+            return carga.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
             }
+            throw e;
+        }
+    }
+
+    private ReporteIntegralEstudianteDTO leerCache(Integer estudianteId) {
+        try {
+            String json = stringRedisTemplate.opsForValue().get(CACHE_PREFIX + estudianteId);
+            return json != null ? lectorCache.readValue(json) : null;
+        } catch (Exception e) {
+            // Si Redis no responde o el valor es ilegible, se reconstruye el reporte
+            System.err.println("Error leyendo el reporte en cache del estudiante " + estudianteId + ": " + e.getMessage());
+            return null;
+        }
+    }
 
-            // Luego, obtener los detalles de los cursos desde MySQL
-            String placeholders = String.join(",", cursoIds.stream().map(id -> "?").toArray(String[]::new));
-            String sqlCursos = "SELECT id, nombre, codigo, creditos FROM cursos WHERE id IN (" + placeholders + ")";
-
-            return mysqlJdbcTemplate.query(sqlCursos, (rs, rowNum) -> {
-                CursoDTO curso = new CursoDTO();
-                curso.setId(rs.getInt("id"));
-                curso.setNombre(rs.getString("nombre"));
-                curso.setCodigo(rs.getString("codigo"));
-                curso.setCreditos(rs.getInt("creditos"));
-                return curso;
-            }, cursoIds.toArray());
+    private void escribirCache(Integer estudianteId, ReporteIntegralEstudianteDTO reporte) {
+        try {
+            stringRedisTemplate.opsForValue().set(CACHE_PREFIX + estudianteId,
+                    escritorCache.writeValueAsString(reporte), Duration.ofSeconds(ttlSegundos));
         } catch (Exception e) {
-            System.err
-                    .println("Error obteniendo los cursos para el estudiante " + estudianteId + ": " + e.getMessage());
-            e.printStackTrace();
+            System.err.println("Error guardando el reporte en cache del estudiante " + estudianteId + ": " + e.getMessage());
+        }
+    }
+
+    // Rama de cursos: relaciones en PostgreSQL y detalle desde el catálogo en memoria. Los errores marcan el
+    // reporte como parcial
+    private List<CursoDTO> getCursosForEstudiante(Integer estudianteId) {
+        // Primero, obtener los IDs de los cursos desde la tabla de relaciones en
+        // PostgreSQL
+        String sqlRelaciones = "SELECT curso_id FROM estudiante_curso WHERE estudiante_id = ?";
+        List<Integer> cursoIds = consultarConPlazo(sqlRelaciones, (rs, fila) -> rs.getInt(1), timeoutCursosMs,
+                estudianteId);
+
+        if (cursoIds.isEmpty()) {
             return new ArrayList<>();
         }
+
+        // Luego, resolver los detalles en el catálogo de cursos, sin consultar MySQL
+        return catalogoCursos.buscarTodos(cursoIds);
     }
 
+    // Rama de proyectos: relaciones en PostgreSQL y detalle en MongoDB
     private List<ProyectoInvestigacionDTO> getProyectosForEstudiante(Integer estudianteId) {
         String sql = """
                 SELECT ep.proyecto_id
@@ -95,38 +326,52 @@ public class ReporteIntegralEstudianteService {
                 WHERE ep.estudiante_id = ?
                 """;
 
-        try {
-            List<String> proyectoIds = postgresJdbcTemplate.queryForList(sql, String.class, estudianteId);
-            List<ProyectoInvestigacionDTO> proyectos = new ArrayList<>();
-
-            // Por cada ID de proyecto, obtener los detalles del proyecto desde MongoDB
-            for (String proyectoId : proyectoIds) {
-                try {
-                    proyectoRepository.findById(proyectoId).ifPresent(proyecto -> {
-                        ProyectoInvestigacionDTO dto = new ProyectoInvestigacionDTO();
-                        dto.setId(proyecto.getId());
-                        dto.setTitulo(proyecto.getTitulo());
-                        dto.setResumen(proyecto.getResumen());
-                        dto.setFechaInicio(proyecto.getFechaInicio());
-                        dto.setFechaFin(proyecto.getFechaFin());
-                        proyectos.add(dto);
-                    });
-                } catch (Exception e) {
-                    System.err.println("Error obteniendo el proyecto " + proyectoId + ": " + e.getMessage());
-                }
-            }
+        List<String> proyectoIds = consultarConPlazo(sql, (rs, fila) -> rs.getString(1), timeoutProyectosMs,
+                estudianteId);
 
-            return proyectos;
-        } catch (Exception e) {
-            System.err.println(
-                    "Error obteniendo los proyectos para el estudiante " + estudianteId + ": " + e.getMessage());
-            e.printStackTrace();
-            return new ArrayList<>();
-        }
+        // Obtener los detalles de todos los proyectos desde MongoDB en una sola consulta, con maxTime en el servidor
+        return proyectoRepository.findResumenesByIds(proyectoIds, Duration.ofMillis(timeoutProyectosMs)).stream().map(proyecto -> {
+            ProyectoInvestigacionDTO dto = new ProyectoInvestigacionDTO();
+            dto.setId(proyecto.getId());
+            dto.setTitulo(proyecto.getTitulo());
+            dto.setResumen(proyecto.getResumen());
+            dto.setFechaInicio(proyecto.getFechaInicio());
+            dto.setFechaFin(proyecto.getFechaFin());
+            return dto;
+        }).collect(Collectors.toList());
     }
 
     public void invalidarCacheReporte(Integer estudianteId) {
-        String cacheKey = "reporte_estudiante:" + estudianteId;
-        redisTemplate.delete(cacheKey);
+        invalidarCacheReportes(List.of(estudianteId));
+    }
+
+    // Invalida los reportes de todos los estudiantes matriculados en el curso
+    public void invalidarCacheReportesPorCurso(Integer cursoId) {
+        DespuesDelCommit.ejecutar(() -> invalidarAhora(postgresJdbcTemplate.queryForList(
+                "SELECT estudiante_id FROM estudiante_curso WHERE curso_id = ?", Integer.class, cursoId)));
+    }
+
+    // Invalida los reportes de todos los estudiantes que participan en el proyecto
+    public void invalidarCacheReportesPorProyecto(String proyectoId) {
+        DespuesDelCommit.ejecutar(() -> invalidarAhora(postgresJdbcTemplate.queryForList(
+                "SELECT estudiante_id FROM estudiante_proyecto WHERE proyecto_id = ?", Integer.class, proyectoId)));
+    }
+
+    public void invalidarCacheReportes(Collection<Integer> estudianteIds) {
+        DespuesDelCommit.ejecutar(() -> invalidarAhora(estudianteIds));
+    }
+
+    private void invalidarAhora(Collection<Integer> estudianteIds) {
+        invalidaciones.incrementAndGet();
+        if (estudianteIds.isEmpty()) {
+            return;
+        }
+        try {
+            stringRedisTemplate.delete(estudianteIds.stream()
+                    .map(id -> CACHE_PREFIX + id)
+                    .collect(Collectors.toList()));
+        } catch (Exception e) {
+            System.err.println("Error invalidando reportes en cache: " + e.getMessage());
+        }
     }
 }
@@ -3,63 +3,32 @@ package pe.edu.utp.gestionacademicautp.service;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import pe.edu.utp.gestionacademicautp.dto.DashboardStatsDTO;
-import pe.edu.utp.gestionacademicautp.repository.cassandra.ProfesorRepository;
-import pe.edu.utp.gestionacademicautp.repository.mongo.ProyectoInvestigacionRepository;
-import pe.edu.utp.gestionacademicautp.repository.mysql.CursoRepository;
-import pe.edu.utp.gestionacademicautp.repository.postgres.EstudianteRepository;
+import pe.edu.utp.gestionacademicautp.service.ContadoresDashboardService.Contador;
+import pe.edu.utp.gestionacademicautp.service.ContadoresDashboardService.Entidad;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 public class ReportesService {
 
-    private final EstudianteRepository estudianteRepository;
-    private final ProfesorRepository profesorRepository;
-    private final CursoRepository cursoRepository;
-    private final ProyectoInvestigacionRepository proyectoRepository;
+    private final ContadoresDashboardService contadores;
 
     public DashboardStatsDTO getDashboardStats() {
-        long totalEstudiantes = 0L;
-        long totalProfesores = 0L;
-        long totalCursos = 0L;
-        long totalProyectos = 0L;
-
-        // Obtener conteo de estudiantes (PostgreSQL)
-        try {
-            totalEstudiantes = estudianteRepository.count();
-        } catch (Exception e) {
-            System.err.println("Error al obtener conteo de estudiantes: " + e.getMessage());
-            totalEstudiantes = 0L;
-        }
-
-        // Obtener conteo de profesores (Cassandra)
-        try {
-            totalProfesores = profesorRepository.count();
-        } catch (Exception e) {
-            System.err.println("Error al obtener conteo de profesores: " + e.getMessage());
-            totalProfesores = 0L;
-        }
-
-        // Obtener conteo de cursos (MySQL)
-        try {
-            totalCursos = cursoRepository.count();
-        } catch (Exception e) {
-            System.err.println("Error al obtener conteo de cursos: " + e.getMessage());
-            totalCursos = 0L;
-        }
+        // Los totales vienen de los contadores en Redis, no de un count() en cada base de datos
+        Map<Entidad, Contador> totales = contadores.obtenerTodos();
 
-        // Obtener conteo de proyectos (MongoDB)
-        try {
-            totalProyectos = proyectoRepository.count();
-        } catch (Exception e) {
-            System.err.println("Error al obtener conteo de proyectos: " + e.getMessage());
-            totalProyectos = 0L;
-        }
+        Map<String, Long> antiguedad = new LinkedHashMap<>();
+        totales.forEach((entidad, contador) ->
+                antiguedad.put(entidad.name().toLowerCase(), contador.antiguedadSegundos()));
 
         return new DashboardStatsDTO(
-            totalEstudiantes,
-            totalProfesores,
-            totalCursos,
-            totalProyectos
+            totales.get(Entidad.ESTUDIANTES).total(),
+            totales.get(Entidad.PROFESORES).total(),
+            totales.get(Entidad.CURSOS).total(),
+            totales.get(Entidad.PROYECTOS).total(),
+            antiguedad
         );
     }
 }
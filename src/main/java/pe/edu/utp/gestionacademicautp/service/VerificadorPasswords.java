@@ -0,0 +1,111 @@
+package pe.edu.utp.gestionacademicautp.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import pe.edu.utp.gestionacademicautp.exception.ServicioSaturadoException;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Verificación de contraseñas BCrypt en un pool propio y acotado: una ráfaga de logins consume como máximo
+// esos hilos de CPU y, con la cola llena, se rechaza de inmediato en vez de frenar al resto de endpoints.
+// Esos hilos solo calculan BCrypt: lo que sigue al login (Redis, PostgreSQL) corre en el pool de continuaciones
+// y la regeneración de hashes en el suyo, ambos separados
+@Component
+public class VerificadorPasswords {
+
+    private static final Pattern COSTO_BCRYPT = Pattern.compile("^\\$2[abxy]?\\$(\\d{2})\\$");
+
+    private final PasswordEncoder passwordEncoder;
+    private final int costo;
+    private final long timeoutMs;
+    private final ThreadPoolExecutor executor;
+    private final ThreadPoolExecutor continuaciones;
+    private final ThreadPoolExecutor rehashes;
+
+    public VerificadorPasswords(PasswordEncoder passwordEncoder,
+                                @Value("${app.seguridad.bcrypt-costo:10}") int costo,
+                                @Value("${app.seguridad.verificacion.hilos:0}") int hilos,
+                                @Value("${app.seguridad.verificacion.cola:100}") int cola,
+                                @Value("${app.seguridad.verificacion.timeout-ms:5000}") long timeoutMs,
+                                @Value("${app.seguridad.continuaciones.hilos:16}") int hilosContinuaciones,
+                                @Value("${app.seguridad.rehash.cola:50}") int colaRehash) {
+        this.passwordEncoder = passwordEncoder;
+        this.costo = costo;
+        this.timeoutMs = timeoutMs;
+        int tamano = hilos > 0 ? hilos : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(tamano, tamano, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(cola), new CustomizableThreadFactory("bcrypt-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        // Sin cola acotada: nunca hay más continuaciones pendientes que verificaciones admitidas
+        this.continuaciones = new ThreadPoolExecutor(hilosContinuaciones, hilosContinuaciones, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory("login-"));
+        this.continuaciones.allowCoreThreadTimeOut(true);
+        // Un hilo: regenerar hashes no es urgente. Con la cola llena se descarta y se reintenta en otro login
+        this.rehashes = new ThreadPoolExecutor(1, 1, 60L, TimeUnit.SECONDS, new ArrayBlockingQueue<>(colaRehash),
+                new CustomizableThreadFactory("rehash-"), new ThreadPoolExecutor.DiscardPolicy());
+        this.rehashes.allowCoreThreadTimeOut(true);
+    }
+
+    // Lanza ServicioSaturadoException si la cola está llena; el futuro falla con TimeoutException
+    // si la verificación no termina a tiempo
+    public CompletableFuture<Boolean> verificar(String password, String hash) {
+        CompletableFuture<Boolean> resultado = new CompletableFuture<Boolean>()
+                .orTimeout(timeoutMs, TimeUnit.MILLISECONDS);
+        try {
+            executor.execute(() -> {
+                // Vencida mientras esperaba en la cola: nadie espera ya el resultado, no se gasta CPU en ella
+                if (resultado.isDone()) {
+                    return;
+                }
+                try {
+                    resultado.complete(passwordEncoder.matches(password, hash));
+                } catch (RuntimeException e) {
+                    resultado.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            resultado.cancel(false);
+            throw new ServicioSaturadoException("Demasiados inicios de sesión en curso, intente nuevamente");
+        }
+        return resultado;
+    }
+
+    // Pool de E/S para lo que sigue a la verificación (límite de intentos, sesión en Redis)
+    public Executor continuaciones() {
+        return continuaciones;
+    }
+
+    // Calcula el hash nuevo y lo entrega a "guardar" en segundo plano, sin ocupar los hilos de verificación
+    public void regenerarHash(String password, Consumer<String> guardar) {
+        rehashes.execute(() -> guardar.accept(codificar(password)));
+    }
+
+    // true si el hash se generó con un costo distinto al configurado
+    public boolean requiereRehash(String hash) {
+        Matcher matcher = COSTO_BCRYPT.matcher(hash);
+        return !matcher.find() || Integer.parseInt(matcher.group(1)) != costo;
+    }
+
+    public String codificar(String password) {
+        return passwordEncoder.encode(password);
+    }
+
+    @PreDestroy
+    void cerrar() {
+        executor.shutdown();
+        continuaciones.shutdown();
+        rehashes.shutdown();
+    }
+}
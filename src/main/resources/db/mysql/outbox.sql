@@ -0,0 +1,8 @@
+-- Outbox de MySQL (OutboxService): eventos de escrituras sobre cursos, insertados en la misma transacción.
+-- El despachador los traslada al outbox_evento de PostgreSQL, que es donde se aplican y reintentan
+CREATE TABLE IF NOT EXISTS outbox_evento (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    tipo VARCHAR(40) NOT NULL,
+    clave VARCHAR(100) NOT NULL,
+    creado_en DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
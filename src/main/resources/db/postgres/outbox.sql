@@ -0,0 +1,13 @@
+-- Outbox de efectos entre almacenes (OutboxService): un evento por escritura, aplicado después por el despachador.
+-- proximo_intento sirve a la vez de reintento con espera y de reserva: un evento tomado no vuelve a ser visible
+-- hasta que vence la reserva, así otro nodo lo retoma si el que lo tomó se cae
+CREATE TABLE IF NOT EXISTS outbox_evento (
+    id BIGSERIAL PRIMARY KEY,
+    tipo VARCHAR(40) NOT NULL,
+    clave VARCHAR(100) NOT NULL,
+    creado_en TIMESTAMP NOT NULL DEFAULT now(),
+    intentos INTEGER NOT NULL DEFAULT 0,
+    proximo_intento TIMESTAMP NOT NULL DEFAULT now(),
+    ultimo_error VARCHAR(500)
+);
+CREATE INDEX IF NOT EXISTS idx_outbox_evento_proximo ON outbox_evento (proximo_intento, id);
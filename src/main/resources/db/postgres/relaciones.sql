@@ -0,0 +1,4 @@
+-- Índices inversos de las tablas de relación (la clave primaria empieza por estudiante_id): nómina de un curso
+-- o proyecto por rango con orden por estudiante_id, y conteo de matriculados leyendo solo el índice
+CREATE INDEX IF NOT EXISTS idx_estudiante_curso_curso ON estudiante_curso (curso_id, estudiante_id);
+CREATE INDEX IF NOT EXISTS idx_estudiante_proyecto_proyecto ON estudiante_proyecto (proyecto_id, estudiante_id);
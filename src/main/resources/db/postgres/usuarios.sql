@@ -0,0 +1,12 @@
+-- Directorio de usuarios de la aplicación (AuthService)
+CREATE TABLE IF NOT EXISTS usuario (
+    username VARCHAR(50) PRIMARY KEY,
+    password VARCHAR(100) NOT NULL,
+    email VARCHAR(150),
+    first_name VARCHAR(100),
+    last_name VARCHAR(100),
+    role VARCHAR(20) NOT NULL,
+    active BOOLEAN NOT NULL DEFAULT TRUE,
+    created_at TIMESTAMP NOT NULL DEFAULT now(),
+    last_login TIMESTAMP
+);
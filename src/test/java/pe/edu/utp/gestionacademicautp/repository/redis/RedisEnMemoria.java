@@ -0,0 +1,365 @@
+package pe.edu.utp.gestionacademicautp.repository.redis;
+
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.types.Expiration;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Sustituto de Redis en el mismo proceso: cadenas, hashes, TTL y los scripts Lua de sesiones y del límite de
+// intentos de login. Como Redis, evalSha falla con NOSCRIPT hasta que el script se envía con eval. No
+// implementa el resto de comandos: cualquier otro devuelve el valor por defecto.
+// Lo comparten las pruebas y los benchmarks; medir() cuenta los comandos y los bytes de claves, campos y valores
+// (sin el framing RESP) que una operación envía y recibe.
+public final class RedisEnMemoria implements InvocationHandler {
+
+    private static final Set<String> COMANDOS = Set.of("get", "mGet", "set", "setEx", "pSetEx", "hSet", "hMSet",
+            "hGet", "hGetAll", "del", "unlink", "exists", "expire", "pExpire", "ttl", "pTtl", "publish", "scriptLoad",
+            "eval", "evalSha");
+
+    private final Map<String, Object> datos = new HashMap<>();
+    private final Map<String, Long> expiraEn = new HashMap<>();
+    private final Map<String, String> scripts = new HashMap<>();
+
+    private int comandos;
+    private long bytesEnviados;
+    private long bytesRecibidos;
+
+    private final RedisConnection conexion = (RedisConnection) Proxy.newProxyInstance(
+            RedisConnection.class.getClassLoader(), new Class<?>[]{RedisConnection.class}, this);
+
+    private final RedisConnectionFactory connectionFactory = (RedisConnectionFactory) Proxy.newProxyInstance(
+            RedisConnectionFactory.class.getClassLoader(), new Class<?>[]{RedisConnectionFactory.class},
+            (proxy, method, args) -> switch (method.getName()) {
+                case "getConnection" -> conexion;
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                case "toString" -> "RedisEnMemoria";
+                default -> valorPorDefecto(method.getReturnType());
+            });
+
+    public RedisConnectionFactory connectionFactory() {
+        return connectionFactory;
+    }
+
+    public RedisConnection conexion() {
+        return conexion;
+    }
+
+    public synchronized Medicion medir(Runnable operacion) {
+        comandos = 0;
+        bytesEnviados = 0;
+        bytesRecibidos = 0;
+        operacion.run();
+        return new Medicion(comandos, bytesEnviados, bytesRecibidos);
+    }
+
+    public record Medicion(int comandos, long bytesEnviados, long bytesRecibidos) {
+    }
+
+    @Override
+    public synchronized Object invoke(Object proxy, Method method, Object[] args) {
+        String nombre = method.getName();
+        if (nombre.endsWith("Commands") && method.getParameterCount() == 0) {
+            return conexion;
+        }
+        if (!COMANDOS.contains(nombre)) {
+            return ejecutar(proxy, method, args);
+        }
+        comandos++;
+        for (Object argumento : args != null ? args : new Object[0]) {
+            bytesEnviados += tamano(argumento);
+        }
+        Object respuesta = ejecutar(proxy, method, args);
+        bytesRecibidos += tamano(respuesta);
+        return respuesta;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object ejecutar(Object proxy, Method method, Object[] args) {
+        String nombre = method.getName();
+        switch (nombre) {
+            case "get" -> {
+                return datos.get(vigente((byte[]) args[0])) instanceof byte[] valor ? valor : null;
+            }
+            case "mGet" -> {
+                List<byte[]> valores = new ArrayList<>();
+                for (byte[] clave : (byte[][]) args[0]) {
+                    valores.add(datos.get(vigente(clave)) instanceof byte[] valor ? valor : null);
+                }
+                return valores;
+            }
+            case "set" -> {
+                String clave = texto((byte[]) args[0]);
+                datos.put(clave, args[1]);
+                if (args.length > 2 && args[2] instanceof Expiration expiracion && !expiracion.isPersistent()) {
+                    expirarEn(clave, expiracion.getExpirationTimeInMilliseconds());
+                } else {
+                    expiraEn.remove(clave);
+                }
+                return Boolean.TRUE;
+            }
+            case "setEx", "pSetEx" -> {
+                String clave = texto((byte[]) args[0]);
+                datos.put(clave, args[2]);
+                long tiempo = ((Number) args[1]).longValue();
+                expirarEn(clave, nombre.equals("setEx") ? TimeUnit.SECONDS.toMillis(tiempo) : tiempo);
+                return Boolean.TRUE;
+            }
+            case "hSet" -> {
+                return hash(texto((byte[]) args[0])).put(texto((byte[]) args[1]), (byte[]) args[2]) == null;
+            }
+            case "hMSet" -> {
+                Map<String, byte[]> hash = hash(texto((byte[]) args[0]));
+                ((Map<byte[], byte[]>) args[1]).forEach((campo, valor) -> hash.put(texto(campo), valor));
+                return null;
+            }
+            case "hGet" -> {
+                return datos.get(vigente((byte[]) args[0])) instanceof Map<?, ?> hash
+                        ? hash.get(texto((byte[]) args[1])) : null;
+            }
+            case "hGetAll" -> {
+                Map<byte[], byte[]> resultado = new LinkedHashMap<>();
+                if (datos.get(vigente((byte[]) args[0])) instanceof Map<?, ?> hash) {
+                    hash.forEach((campo, valor) -> resultado.put(bytes((String) campo), (byte[]) valor));
+                }
+                return resultado;
+            }
+            case "del", "unlink" -> {
+                long eliminadas = 0;
+                for (byte[] clave : (byte[][]) args[0]) {
+                    String texto = vigente(clave);
+                    expiraEn.remove(texto);
+                    eliminadas += datos.remove(texto) != null ? 1 : 0;
+                }
+                return eliminadas;
+            }
+            case "exists" -> {
+                if (args[0] instanceof byte[][] claves) {
+                    long existentes = 0;
+                    for (byte[] clave : claves) {
+                        existentes += datos.containsKey(vigente(clave)) ? 1 : 0;
+                    }
+                    return existentes;
+                }
+                return datos.containsKey(vigente((byte[]) args[0]));
+            }
+            case "expire", "pExpire" -> {
+                String clave = vigente((byte[]) args[0]);
+                if (!datos.containsKey(clave)) {
+                    return Boolean.FALSE;
+                }
+                long tiempo = ((Number) args[1]).longValue();
+                expirarEn(clave, nombre.equals("expire") ? TimeUnit.SECONDS.toMillis(tiempo) : tiempo);
+                return Boolean.TRUE;
+            }
+            case "ttl", "pTtl" -> {
+                String clave = vigente((byte[]) args[0]);
+                if (!datos.containsKey(clave)) {
+                    return -2L;
+                }
+                Long expira = expiraEn.get(clave);
+                if (expira == null) {
+                    return -1L;
+                }
+                long restanteMs = expira - System.currentTimeMillis();
+                TimeUnit unidad = args.length > 1 && args[1] instanceof TimeUnit u ? u
+                        : nombre.equals("ttl") ? TimeUnit.SECONDS : TimeUnit.MILLISECONDS;
+                return unidad.convert(restanteMs, TimeUnit.MILLISECONDS);
+            }
+            case "publish" -> {
+                return 0L;
+            }
+            case "scriptLoad" -> {
+                return cargarScript(texto((byte[]) args[0]));
+            }
+            case "eval" -> {
+                String script = texto((byte[]) args[0]);
+                cargarScript(script);
+                return ejecutarScript(script, (Integer) args[2], (byte[][]) args[3]);
+            }
+            case "evalSha" -> {
+                String sha = args[0] instanceof String s ? s : texto((byte[]) args[0]);
+                String script = scripts.get(sha);
+                if (script == null) {
+                    throw new InvalidDataAccessApiUsageException("NOSCRIPT No matching script. Please use EVAL.");
+                }
+                return ejecutarScript(script, (Integer) args[2], (byte[][]) args[3]);
+            }
+            case "hashCode" -> {
+                return System.identityHashCode(proxy);
+            }
+            case "equals" -> {
+                return proxy == args[0];
+            }
+            case "toString" -> {
+                return "RedisEnMemoria";
+            }
+            default -> {
+                return valorPorDefecto(method.getReturnType());
+            }
+        }
+    }
+
+    // Bytes de claves, campos y valores; los números cuentan como el texto que enviaría RESP
+    private static long tamano(Object valor) {
+        if (valor instanceof byte[] datos) {
+            return datos.length;
+        }
+        if (valor instanceof byte[][] lista) {
+            long total = 0;
+            for (byte[] datos : lista) {
+                total += datos.length;
+            }
+            return total;
+        }
+        if (valor instanceof Map<?, ?> mapa) {
+            long total = 0;
+            for (Map.Entry<?, ?> entrada : mapa.entrySet()) {
+                total += tamano(entrada.getKey()) + tamano(entrada.getValue());
+            }
+            return total;
+        }
+        if (valor instanceof List<?> lista) {
+            long total = 0;
+            for (Object elemento : lista) {
+                total += tamano(elemento);
+            }
+            return total;
+        }
+        if (valor instanceof String texto) {
+            return texto.length();
+        }
+        return valor instanceof Number numero ? String.valueOf(numero).length() : 0;
+    }
+
+    private Object ejecutarScript(String script, int cantidadClaves, byte[][] clavesYArgumentos) {
+        if (script.contains("'HSET'")) {
+            // SesionRedisRepository: ARGV[1] = ttl en segundos, luego pares campo/valor
+            String clave = texto(clavesYArgumentos[0]);
+            Map<String, byte[]> hash = hash(clave);
+            for (int i = cantidadClaves + 1; i + 1 < clavesYArgumentos.length; i += 2) {
+                hash.put(texto(clavesYArgumentos[i]), clavesYArgumentos[i + 1]);
+            }
+            expirarEn(clave, TimeUnit.SECONDS.toMillis(Long.parseLong(texto(clavesYArgumentos[cantidadClaves]))));
+            return 1L;
+        }
+        if (script.contains("'INCR'")) {
+            // LimitadorIntentosLogin (reservar): ARGV[1] = ventana, luego el máximo de cada clave. Incrementa cada
+            // clave y, si alguna pasa su máximo, deshace todo y devuelve su posición
+            long ventanaMs = TimeUnit.SECONDS.toMillis(Long.parseLong(texto(clavesYArgumentos[cantidadClaves])));
+            long excedida = 0;
+            for (int i = 0; i < cantidadClaves; i++) {
+                long valor = sumar(clavesYArgumentos[i], 1);
+                if (valor == 1) {
+                    expirarEn(texto(clavesYArgumentos[i]), ventanaMs);
+                }
+                long maximo = Long.parseLong(texto(clavesYArgumentos[cantidadClaves + 1 + i]));
+                if (excedida == 0 && valor > maximo) {
+                    excedida = i + 1;
+                }
+            }
+            if (excedida > 0) {
+                for (int i = 0; i < cantidadClaves; i++) {
+                    sumar(clavesYArgumentos[i], -1);
+                }
+            }
+            return excedida;
+        }
+        if (script.contains("'DECR'")) {
+            // LimitadorIntentosLogin (liberar): con ARGV[1] = '1' la primera clave se borra, el resto se decrementa
+            boolean reiniciarPrimera = "1".equals(texto(clavesYArgumentos[cantidadClaves]));
+            for (int i = 0; i < cantidadClaves; i++) {
+                if (i == 0 && reiniciarPrimera) {
+                    borrar(texto(clavesYArgumentos[i]));
+                } else {
+                    sumar(clavesYArgumentos[i], -1);
+                }
+            }
+            return 1L;
+        }
+        throw new UnsupportedOperationException("Script no soportado por RedisEnMemoria: " + script);
+    }
+
+    // INCRBY que, como los scripts del limitador, borra la clave cuando el contador llega a 0 o menos
+    private long sumar(byte[] claveBytes, long delta) {
+        String clave = vigente(claveBytes);
+        long valor = (datos.get(clave) instanceof byte[] actual ? Long.parseLong(texto(actual)) : 0) + delta;
+        if (valor <= 0 && delta < 0) {
+            borrar(clave);
+        } else {
+            datos.put(clave, bytes(String.valueOf(valor)));
+        }
+        return valor;
+    }
+
+    private void borrar(String clave) {
+        expiraEn.remove(clave);
+        datos.remove(clave);
+    }
+
+    private String cargarScript(String script) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(bytes(script));
+            String sha = HexFormat.of().formatHex(digest);
+            scripts.put(sha, script);
+            return sha;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, byte[]> hash(String clave) {
+        vigente(bytes(clave));
+        return (Map<String, byte[]>) datos.computeIfAbsent(clave, k -> new HashMap<String, byte[]>());
+    }
+
+    private void expirarEn(String clave, long milisegundos) {
+        expiraEn.put(clave, System.currentTimeMillis() + milisegundos);
+    }
+
+    // Descarta la clave si ya venció (expiración perezosa, como hace Redis al leerla)
+    private String vigente(byte[] clave) {
+        String texto = texto(clave);
+        Long expira = expiraEn.get(texto);
+        if (expira != null && expira <= System.currentTimeMillis()) {
+            expiraEn.remove(texto);
+            datos.remove(texto);
+        }
+        return texto;
+    }
+
+    // ISO-8859-1 conserva cada byte tal cual, así que cualquier clave binaria sirve como texto
+    private static String texto(byte[] datos) {
+        return new String(datos, StandardCharsets.ISO_8859_1);
+    }
+
+    private static byte[] bytes(String texto) {
+        return texto.getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    private static Object valorPorDefecto(Class<?> tipo) {
+        if (tipo == boolean.class) {
+            return false;
+        }
+        if (tipo == int.class) {
+            return 0;
+        }
+        return tipo == long.class ? 0L : null;
+    }
+}
@@ -0,0 +1,101 @@
+package pe.edu.utp.gestionacademicautp.repository.redis;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import pe.edu.utp.gestionacademicautp.config.RedisConfig;
+import pe.edu.utp.gestionacademicautp.repository.redis.RedisEnMemoria.Medicion;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Compara comandos y bytes enviados/recibidos por login, validación y renovación de sesión entre el formato
+// anterior (RedisTemplate con hash serializado por JDK, putAll + expire, HGETALL, EXISTS + EXPIRE)
+// y SesionRedisRepository. Los bytes son los de claves, campos y valores (sin el framing RESP).
+class SesionRedisRepositoryTest {
+
+    private static final String SESSION_ID = "3f1c2a9e-7b4d-4e8a-9c21-5d6f7a8b9c0d";
+
+    private RedisEnMemoria redis;
+    private RedisTemplate<String, Object> redisTemplateAnterior;
+    private SesionRedisRepository sesionRepository;
+
+    @BeforeEach
+    void setUp() {
+        redis = new RedisEnMemoria();
+        redisTemplateAnterior = new RedisConfig().redisTemplate(redis.connectionFactory());
+        redisTemplateAnterior.afterPropertiesSet();
+        sesionRepository = new SesionRedisRepository(new StringRedisTemplate(redis.connectionFactory()));
+        // Como en Redis, el primer EVALSHA falla con NOSCRIPT y se reenvía el script con EVAL; se mide el resto
+        sesionRepository.guardar("precarga", "admin", "ADMIN", Duration.ofMinutes(1));
+    }
+
+    @Test
+    void loginUsaUnSoloComandoYMenosBytes() {
+        Medicion antes = redis.medir(() -> {
+            Map<String, Object> sessionData = new HashMap<>();
+            sessionData.put("username", "admin");
+            sessionData.put("fullName", "Administrador Sistema");
+            sessionData.put("email", "admin@utp.edu.pe");
+            sessionData.put("role", "ADMIN");
+            sessionData.put("loginTime", LocalDateTime.now().toString());
+            redisTemplateAnterior.opsForHash().putAll("session:" + SESSION_ID, sessionData);
+            redisTemplateAnterior.expire("session:" + SESSION_ID, 24, TimeUnit.HOURS);
+        });
+        Medicion despues = redis.medir(() ->
+                sesionRepository.guardar(SESSION_ID, "admin", "ADMIN", Duration.ofHours(24)));
+
+        imprimir("login", antes, despues);
+        assertThat(antes.comandos()).isEqualTo(2);
+        assertThat(despues.comandos()).isEqualTo(1);
+        assertThat(despues.bytesEnviados()).isLessThan(antes.bytesEnviados());
+    }
+
+    @Test
+    void validacionLeeSoloElUsuario() {
+        redisTemplateAnterior.opsForHash().putAll("session:" + SESSION_ID, Map.of(
+                "username", "admin", "fullName", "Administrador Sistema", "email", "admin@utp.edu.pe",
+                "role", "ADMIN", "loginTime", LocalDateTime.now().toString()));
+        sesionRepository.guardar(SESSION_ID, "admin", "ADMIN", Duration.ofHours(24));
+
+        Medicion antes = redis.medir(() -> redisTemplateAnterior.opsForHash().entries("session:" + SESSION_ID));
+        Medicion despues = redis.medir(() ->
+                assertThat(sesionRepository.obtenerUsuario(SESSION_ID)).isEqualTo("admin"));
+
+        imprimir("validación", antes, despues);
+        assertThat(despues.comandos()).isEqualTo(1);
+        assertThat(despues.bytesRecibidos()).isLessThan(antes.bytesRecibidos());
+    }
+
+    @Test
+    void renovacionUsaUnSoloComando() {
+        sesionRepository.guardar(SESSION_ID, "admin", "ADMIN", Duration.ofHours(24));
+        redisTemplateAnterior.opsForHash().put("session:" + SESSION_ID, "username", "admin");
+
+        Medicion antes = redis.medir(() -> {
+            if (Boolean.TRUE.equals(redisTemplateAnterior.hasKey("session:" + SESSION_ID))) {
+                redisTemplateAnterior.expire("session:" + SESSION_ID, 24, TimeUnit.HOURS);
+            }
+        });
+        Medicion despues = redis.medir(() ->
+                assertThat(sesionRepository.renovar(SESSION_ID, Duration.ofHours(24))).isTrue());
+
+        imprimir("renovación", antes, despues);
+        assertThat(antes.comandos()).isEqualTo(2);
+        assertThat(despues.comandos()).isEqualTo(1);
+        assertThat(sesionRepository.renovar("inexistente", Duration.ofHours(24))).isFalse();
+    }
+
+    private static void imprimir(String operacion, Medicion antes, Medicion despues) {
+        System.out.printf("%-11s antes: %d comandos, %d B enviados, %d B recibidos | "
+                        + "después: %d comandos, %d B enviados, %d B recibidos%n",
+                operacion, antes.comandos(), antes.bytesEnviados(), antes.bytesRecibidos(),
+                despues.comandos(), despues.bytesEnviados(), despues.bytesRecibidos());
+    }
+}
@@ -0,0 +1,143 @@
+package pe.edu.utp.gestionacademicautp.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import pe.edu.utp.gestionacademicautp.dto.EstudianteDTO;
+import pe.edu.utp.gestionacademicautp.dto.SincronizacionRelacionesDTO;
+import pe.edu.utp.gestionacademicautp.model.postgres.Estudiante;
+import pe.edu.utp.gestionacademicautp.repository.postgres.EstudianteRepository;
+
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EstudianteServiceTest {
+
+    @Mock
+    private EstudianteRepository estudianteRepository;
+
+    @Mock
+    private ReporteIntegralEstudianteService reporteService;
+
+    @Mock
+    private ContadoresDashboardService contadores;
+
+    @Mock
+    private JdbcTemplate postgresJdbcTemplate;
+
+    @Mock
+    private BusquedaService busquedaService;
+
+    @Mock
+    private NominaService nominaService;
+
+    @Mock
+    private OutboxService outboxService;
+
+    private EstudianteService estudianteService;
+
+    @BeforeEach
+    void setUp() {
+        estudianteService = new EstudianteService(estudianteRepository, reporteService, contadores,
+                postgresJdbcTemplate, busquedaService, nominaService, outboxService);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 1_000, 40_000})
+    void getAllUsaDosConsultasDeRelacionesSinImportarElTamanoDeLaLista(int cantidad) {
+        when(estudianteRepository.findAll()).thenReturn(estudiantes(cantidad));
+
+        List<EstudianteDTO> resultado = estudianteService.getAll();
+
+        assertThat(resultado).hasSize(cantidad);
+        verify(estudianteRepository, times(1)).findAll();
+        verify(postgresJdbcTemplate, times(2))
+                .query(anyString(), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
+        verifyNoMoreInteractions(postgresJdbcTemplate);
+    }
+
+    @Test
+    void getAllAsignaLasRelacionesACadaEstudiante() throws Exception {
+        when(estudianteRepository.findAll()).thenReturn(estudiantes(2));
+        doAnswer(invocation -> {
+            String sql = invocation.getArgument(0);
+            RowCallbackHandler handler = invocation.getArgument(2);
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getInt("estudiante_id")).thenReturn(2);
+            if (sql.contains("estudiante_curso")) {
+                when(rs.getInt("curso_id")).thenReturn(16);
+            } else {
+                when(rs.getString("proyecto_id")).thenReturn("685a5c56e3f449566d69e328");
+            }
+            handler.processRow(rs);
+            return null;
+        }).when(postgresJdbcTemplate)
+                .query(anyString(), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
+
+        List<EstudianteDTO> resultado = estudianteService.getAll();
+
+        assertThat(resultado.get(0).getCursoIds()).isNull();
+        assertThat(resultado.get(0).getProyectoIds()).isNull();
+        assertThat(resultado.get(1).getCursoIds()).containsExactly(16);
+        assertThat(resultado.get(1).getProyectoIds()).containsExactly("685a5c56e3f449566d69e328");
+    }
+
+    @Test
+    void updateCursosSoloBorraLoQueSobraEInsertaLoQueFalta() {
+        when(estudianteRepository.existsById(7)).thenReturn(true);
+        when(postgresJdbcTemplate.queryForList(anyString(), eq(Integer.class), eq(7))).thenReturn(List.of(1, 2));
+        when(postgresJdbcTemplate.update(startsWith("DELETE"), any(PreparedStatementSetter.class))).thenReturn(1);
+        when(postgresJdbcTemplate.update(startsWith("INSERT"), any(PreparedStatementSetter.class))).thenReturn(2);
+
+        SincronizacionRelacionesDTO resultado = estudianteService.updateCursos(7, List.of(2, 3, 4));
+
+        assertThat(resultado.getAgregados()).isEqualTo(2);
+        assertThat(resultado.getEliminados()).isEqualTo(1);
+        verify(postgresJdbcTemplate, times(2)).update(anyString(), any(PreparedStatementSetter.class));
+        verify(reporteService).invalidarCacheReporte(7);
+        verify(nominaService).invalidarInscritos(List.of(1, 3, 4));
+    }
+
+    @Test
+    void updateCursosSinCambiosNoEscribeNada() {
+        when(estudianteRepository.existsById(7)).thenReturn(true);
+        when(postgresJdbcTemplate.queryForList(anyString(), eq(Integer.class), eq(7))).thenReturn(List.of(1, 2));
+
+        SincronizacionRelacionesDTO resultado = estudianteService.updateCursos(7, List.of(2, 1));
+
+        assertThat(resultado.getAgregados()).isZero();
+        assertThat(resultado.getEliminados()).isZero();
+        verify(postgresJdbcTemplate, never()).update(anyString(), any(PreparedStatementSetter.class));
+        verifyNoInteractions(reporteService, nominaService);
+    }
+
+    private List<Estudiante> estudiantes(int cantidad) {
+        return IntStream.rangeClosed(1, cantidad)
+                .mapToObj(id -> new Estudiante(id, "Nombre " + id, "Apellido " + id, "u" + id + "@utp.edu.pe", null))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,193 @@
+package pe.edu.utp.gestionacademicautp.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pe.edu.utp.gestionacademicautp.service.IndiceInvertido.Documento;
+import pe.edu.utp.gestionacademicautp.service.IndiceInvertido.DocumentoIndexable;
+import pe.edu.utp.gestionacademicautp.service.IndiceInvertido.Resultado;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IndiceInvertidoTest {
+
+    private IndiceInvertido indice;
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndiceInvertido();
+        indice.indexar(estudiante(1, "José Pérez", "jperez@utp.edu.pe"));
+        indice.indexar(estudiante(2, "María Núñez", "mnunez@utp.edu.pe"));
+        indice.indexar(estudiante(3, "Ana Torres", "atorres@utp.edu.pe"));
+        indice.indexar(estudiante(4, "Bartolomé Espinoza", "bespinoza@utp.edu.pe"));
+    }
+
+    @Test
+    void tokenizarQuitaTildesYMayusculas() {
+        assertThat(IndiceInvertido.tokenizar("José ÑANDÚ  Pérez-Díaz")).containsExactly("jose", "nandu", "perez", "diaz");
+        assertThat(IndiceInvertido.tokenizar("   ")).isEmpty();
+        assertThat(IndiceInvertido.tokenizar(null)).isEmpty();
+    }
+
+    @Test
+    void tokenizarIndexaElCorreoCompletoYSusPartes() {
+        assertThat(IndiceInvertido.tokenizar("JPerez@UTP.edu.pe"))
+                .containsExactly("jperez@utp.edu.pe", "jperez", "utp", "edu", "pe");
+    }
+
+    @Test
+    void buscarIgnoraTildesEnLaConsultaYEnElDocumento() {
+        assertThat(claves("jose")).containsExactly("e:1");
+        assertThat(claves("NUÑEZ")).containsExactly("e:2");
+    }
+
+    @Test
+    void buscarPorCorreoCompletoOPorSuPrefijo() {
+        assertThat(claves("jperez@utp.edu.pe")).containsExactly("e:1");
+        assertThat(claves("jperez@")).containsExactly("e:1");
+    }
+
+    @Test
+    void erratasPermitidasSegunElLargo() {
+        assertThat(IndiceInvertido.erratasPermitidas("ana")).isZero();
+        assertThat(IndiceInvertido.erratasPermitidas("anas")).isEqualTo(1);
+        assertThat(IndiceInvertido.erratasPermitidas("bartolo")).isEqualTo(1);
+        assertThat(IndiceInvertido.erratasPermitidas("bartolom")).isEqualTo(2);
+    }
+
+    @Test
+    void distanciaAlPrefijoCuentaSustitucionesInsercionesYTransposiciones() {
+        assertThat(IndiceInvertido.distanciaAlPrefijo("torres", "torres", 1)).isZero();
+        assertThat(IndiceInvertido.distanciaAlPrefijo("torrez", "torres", 1)).isEqualTo(1);
+        assertThat(IndiceInvertido.distanciaAlPrefijo("tores", "torres", 1)).isEqualTo(1);
+        assertThat(IndiceInvertido.distanciaAlPrefijo("otrres", "torres", 1)).isEqualTo(1);
+        // Solo se compara contra el inicio del término
+        assertThat(IndiceInvertido.distanciaAlPrefijo("espin", "espinoza", 1)).isZero();
+        // Pasado el máximo se devuelve máximo + 1
+        assertThat(IndiceInvertido.distanciaAlPrefijo("txrrxs", "torres", 1)).isEqualTo(2);
+        assertThat(IndiceInvertido.distanciaAlPrefijo("torresxyz", "tor", 2)).isEqualTo(3);
+    }
+
+    @Test
+    void buscarToleraUnaErrataEnTerminosMedianos() {
+        assertThat(claves("torrez")).containsExactly("e:3");
+        assertThat(claves("tores")).containsExactly("e:3");
+        assertThat(claves("toxxes")).isEmpty();
+    }
+
+    @Test
+    void buscarToleraDosErratasEnTerminosLargos() {
+        assertThat(claves("bartolone")).containsExactly("e:4");
+        assertThat(claves("barxolone")).containsExactly("e:4");
+        assertThat(claves("bxrxolxne")).isEmpty();
+    }
+
+    @Test
+    void buscarNoToleraErratasEnTerminosCortos() {
+        assertThat(claves("ana")).containsExactly("e:3");
+        assertThat(claves("ama")).isEmpty();
+    }
+
+    @Test
+    void buscarExigeTodosLosTerminos() {
+        assertThat(claves("ana torres")).containsExactly("e:3");
+        assertThat(claves("ana perez")).isEmpty();
+        assertThat(claves("maria")).containsExactly("e:2");
+    }
+
+    @Test
+    void buscarPrefiereLaCoincidenciaExactaEnElTitulo() {
+        indice.indexar(estudiante(5, "Pere Salas", "psalas@utp.edu.pe"));
+
+        List<Resultado> resultados = indice.buscar("pere", clave -> true, 10);
+
+        assertThat(resultados).extracting(r -> r.documento().clave()).containsExactly("e:5", "e:1");
+        assertThat(resultados.get(0).puntaje()).isGreaterThan(resultados.get(1).puntaje());
+    }
+
+    @Test
+    void buscarAplicaElFiltroYElMaximo() {
+        assertThat(indice.buscar("utp", clave -> !clave.equals("e:1"), 10)).hasSize(3);
+        assertThat(indice.buscar("utp", clave -> true, 2)).hasSize(2);
+    }
+
+    @Test
+    void eliminarQuitaElDocumentoYSusTerminos() {
+        indice.eliminar("e:3");
+
+        assertThat(claves("torres")).isEmpty();
+        assertThat(indice.tamano()).isEqualTo(3);
+    }
+
+    @Test
+    void reemplazarGrupoSincronizaConLoLeido() {
+        long marca = indice.marca();
+
+        indice.reemplazarGrupo(clave -> clave.startsWith("e:"),
+                List.of(estudiante(1, "José Pérez", "jperez@utp.edu.pe"), estudiante(6, "Luis Rojas", null)), marca);
+
+        assertThat(claves("utp")).containsExactly("e:1");
+        assertThat(claves("rojas")).containsExactly("e:6");
+        assertThat(indice.tamano()).isEqualTo(2);
+    }
+
+    @Test
+    void reemplazarGrupoNoPisaEscriturasPosterioresALaMarca() {
+        long marca = indice.marca();
+        // Mientras la reconstrucción leía el almacén: se renombra 1, se crea 7 y se elimina 2
+        indice.indexar(estudiante(1, "José Quispe", "jperez@utp.edu.pe"));
+        indice.indexar(estudiante(7, "Rosa Vega", null));
+        indice.eliminar("e:2");
+
+        // Lo leído es anterior a esas escrituras
+        indice.reemplazarGrupo(clave -> clave.startsWith("e:"), List.of(
+                estudiante(1, "José Pérez", "jperez@utp.edu.pe"),
+                estudiante(2, "María Núñez", "mnunez@utp.edu.pe"),
+                estudiante(3, "Ana Torres", "atorres@utp.edu.pe")), marca);
+
+        assertThat(claves("quispe")).containsExactly("e:1");
+        assertThat(claves("perez")).isEmpty();
+        assertThat(claves("vega")).containsExactly("e:7");
+        assertThat(claves("nunez")).isEmpty();
+        assertThat(claves("torres")).containsExactly("e:3");
+        // Bartolomé no estaba en lo leído ni se escribió después: se quita
+        assertThat(claves("bartolome")).isEmpty();
+    }
+
+    @Test
+    void reemplazarGrupoSoloTocaSuGrupo() {
+        indice.indexar(new DocumentoIndexable(new Documento("p:1", "Redes neuronales", null),
+                "Redes neuronales", null));
+
+        indice.reemplazarGrupo(clave -> clave.startsWith("e:"), List.of(), indice.marca());
+
+        assertThat(indice.tamano()).isEqualTo(1);
+        assertThat(claves("redes")).containsExactly("p:1");
+    }
+
+    @Test
+    void unaReconstruccionPosteriorVuelveAAplicarLoLeido() {
+        long primera = indice.marca();
+        indice.indexar(estudiante(1, "José Quispe", "jperez@utp.edu.pe"));
+        indice.reemplazarGrupo(clave -> clave.startsWith("e:"),
+                List.of(estudiante(1, "José Pérez", "jperez@utp.edu.pe")), primera);
+        assertThat(claves("quispe")).containsExactly("e:1");
+
+        // La siguiente reconstrucción ya leyó la escritura: lo leído manda
+        indice.reemplazarGrupo(clave -> clave.startsWith("e:"),
+                List.of(estudiante(1, "José Quispe Ramos", "jperez@utp.edu.pe")), indice.marca());
+        assertThat(claves("ramos")).containsExactly("e:1");
+    }
+
+    private List<String> claves(String consulta) {
+        return indice.buscar(consulta, clave -> true, 100).stream()
+                .map(resultado -> resultado.documento().clave())
+                .collect(Collectors.toList());
+    }
+
+    private static DocumentoIndexable estudiante(int id, String nombre, String correo) {
+        return new DocumentoIndexable(new Documento("e:" + id, nombre, correo), nombre, correo);
+    }
+}